@@ -0,0 +1,34 @@
+package engine.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Runs the benchmarks with the GC profiler
+ * enabled, such that the allocation rate is reported next to the latency.
+ * The usual JMH command line options are accepted, e.g. a benchmark name regex.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class BenchmarkRunner {
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args the JMH command line options
+     * @throws RunnerException             if a benchmark fails
+     * @throws CommandLineOptionException if the options are invalid
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
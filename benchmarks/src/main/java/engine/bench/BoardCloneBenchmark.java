@@ -0,0 +1,45 @@
+package engine.bench;
+
+import engine.board.ChessBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ChessBoard#clone()} on the initial position.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardCloneBenchmark {
+    @Param({"BITBOARD", "MAP"})
+    private Positions.BoardType boardType;
+
+    private ChessBoard board;
+
+    @Setup
+    public void setup() {
+        board = boardType.create(Positions.INITIAL);
+    }
+
+    @Benchmark
+    public ChessBoard cloneBoard() {
+        return board.clone();
+    }
+}
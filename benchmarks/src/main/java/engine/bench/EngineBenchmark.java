@@ -0,0 +1,71 @@
+package engine.bench;
+
+import engine.ChessEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the interactive entry points of {@link ChessEngine}, driven through a
+ * view doing nothing.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EngineBenchmark {
+    // Opening played by the move benchmark: 1. e4 e5 2. Nf3 Nc6 3. Bb5 a6
+    private static final int[][] OPENING = {
+            {4, 1, 4, 3}, {4, 6, 4, 4},
+            {6, 0, 5, 2}, {1, 7, 2, 5},
+            {5, 0, 1, 4}, {0, 6, 0, 5}
+    };
+
+    private ChessEngine engine;
+
+    @Setup
+    public void setup() {
+        // No computer opponent plays, so no task is ever handed to the controller thread
+        engine = new ChessEngine(Runnable::run);
+        engine.start(new NoopView());
+    }
+
+    /**
+     * Selects the white queen knight in the initial position.
+     */
+    @Benchmark
+    public void select() {
+        engine.select(1, 0);
+    }
+
+    /**
+     * Plays a short opening, then starts a new game.
+     *
+     * @return the result of the last move
+     */
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public boolean move() {
+        boolean result = true;
+        for (int[] move : OPENING) {
+            result &= engine.move(move[0], move[1], move[2], move[3]);
+        }
+        engine.newGame();
+        return result;
+    }
+}
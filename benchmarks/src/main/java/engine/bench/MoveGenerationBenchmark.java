@@ -0,0 +1,63 @@
+package engine.bench;
+
+import chess.PieceType;
+import engine.board.ChessBoard;
+import engine.move.Moves;
+import engine.piece.ChessPiece;
+import engine.piece.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ChessPiece#getPossibleMoves} for every piece of a given type
+ * in the Kiwipete position.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+    @Param({"PAWN", "ROOK", "KNIGHT", "BISHOP", "QUEEN", "KING"})
+    private PieceType pieceType;
+
+    @Param({"BITBOARD", "MAP"})
+    private Positions.BoardType boardType;
+
+    private ChessBoard board;
+    private List<Map.Entry<Position, ChessPiece>> pieces;
+
+    @Setup
+    public void setup() {
+        board = boardType.create(Positions.KIWIPETE);
+        pieces = board.getPieces().entrySet().stream()
+                .filter(entry -> entry.getValue().getType() == pieceType)
+                .toList();
+    }
+
+    @Benchmark
+    public void getPossibleMoves(Blackhole blackhole) {
+        for (Map.Entry<Position, ChessPiece> entry : pieces) {
+            Moves moves = entry.getValue().getPossibleMoves(board, entry.getKey());
+            blackhole.consume(moves);
+        }
+    }
+}
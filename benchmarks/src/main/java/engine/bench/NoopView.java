@@ -0,0 +1,43 @@
+package engine.bench;
+
+import chess.ChessView;
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.piece.Position;
+
+import java.util.List;
+
+/**
+ * View ignoring every call, used to drive the engine without any rendering
+ * cost. Choices are answered with the first possibility.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+final class NoopView implements ChessView {
+    @Override
+    public void startView() {
+    }
+
+    @Override
+    public void removePiece(int x, int y) {
+    }
+
+    @Override
+    public void putPiece(PieceType type, PlayerColor color, int x, int y) {
+    }
+
+    @Override
+    public void highlightPositions(List<Position> pos) {
+    }
+
+    @Override
+    public void displayMessage(String msg) {
+    }
+
+    @SafeVarargs
+    @Override
+    public final <T extends UserChoice> T askUser(String title, String question, T... possibilities) {
+        return possibilities[0];
+    }
+}
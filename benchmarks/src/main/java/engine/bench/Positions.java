@@ -0,0 +1,38 @@
+package engine.bench;
+
+import engine.board.BitboardChessBoard;
+import engine.board.ChessBoard;
+import engine.board.ChessBoardInitializer;
+import engine.board.MapChessBoard;
+
+/**
+ * Positions shared by the benchmarks.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public abstract class Positions {
+    static final String INITIAL = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    static final String CHECK = "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3";
+    static final String STALEMATE = "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1";
+
+    /**
+     * Board implementations under benchmark.
+     */
+    public enum BoardType {
+        BITBOARD, MAP;
+
+        /**
+         * Creates a board of this type initialized with the given position.
+         *
+         * @param fen the FEN string of the position
+         * @return the initialized board
+         */
+        ChessBoard create(String fen) {
+            ChessBoard board = this == BITBOARD ? new BitboardChessBoard() : new MapChessBoard();
+            ChessBoardInitializer.initializeBoard(board, fen);
+            return board;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package engine.bench;
+
+import engine.board.ChessBoard;
+import engine.search.ParallelSearch;
+import engine.search.SearchLimits;
+import engine.search.SearchResult;
+import engine.search.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a fixed-depth {@link ParallelSearch#search} of the initial and
+ * Kiwipete positions with one or more threads, starting from an empty
+ * transposition table. The nodes searched per second can be derived from the
+ * node count of the returned result.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+    @Param({"INITIAL", "KIWIPETE"})
+    private String position;
+
+    @Param({"4"})
+    private int depth;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private ParallelSearch search;
+    private ChessBoard board;
+    private SearchLimits limits;
+
+    @Setup
+    public void setup() {
+        search = new ParallelSearch(threads, TranspositionTable.DEFAULT_SIZE_MB);
+        board = Positions.BoardType.BITBOARD.create(position.equals("INITIAL") ? Positions.INITIAL : Positions.KIWIPETE);
+        limits = SearchLimits.ofDepth(depth);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        search.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        search.close();
+    }
+
+    @Benchmark
+    public SearchResult search() {
+        return search.search(board, limits);
+    }
+}
@@ -0,0 +1,69 @@
+package engine.bench;
+
+import chess.PlayerColor;
+import engine.board.ChessBoard;
+import engine.board.ChessBoardStateValidator;
+import engine.board.GameStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the game state checks of {@link ChessBoardStateValidator} on a
+ * position with many moves, a position in check and a stalemate.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidatorBenchmark {
+    @Param({Positions.KIWIPETE, Positions.CHECK, Positions.STALEMATE})
+    private String fen;
+
+    @Param({"BITBOARD", "MAP"})
+    private Positions.BoardType boardType;
+
+    private ChessBoard board;
+    private PlayerColor sideToMove;
+
+    @Setup
+    public void setup() {
+        board = boardType.create(fen);
+        sideToMove = board.getSideToMove();
+    }
+
+    @Benchmark
+    public GameStatus getStatus() {
+        return board.getValidator().getStatus(sideToMove);
+    }
+
+    @Benchmark
+    public boolean isCheckmate() {
+        return board.getValidator().isCheckmate(sideToMove);
+    }
+
+    @Benchmark
+    public boolean isStalemate() {
+        return board.getValidator().isStalemate(sideToMove);
+    }
+
+    @Benchmark
+    public boolean isKingInCheck() {
+        return board.getValidator().isKingInCheck(sideToMove);
+    }
+}
@@ -4,15 +4,19 @@ import engine.ChessEngine;
 import chess.views.gui.GUIView;
 // import chess.views.console.ConsoleView;
 
+import javax.swing.SwingUtilities;
+
 public class Main {
     public static void main(String[] args) {
-        ChessEngine chessController = new ChessEngine();
+        // The GUI calls the engine from the Swing event thread, where the computer's moves are played too
+        ChessEngine chessController = new ChessEngine(SwingUtilities::invokeLater);
         // User Interface
         GUIView view = new GUIView(chessController);
         chessController.start(view);
 
         // INFO: To run ConsoleView, uncomment the following lines + the import
-        // and comment the previous two lines
+        // and comment the previous two lines. The console view has no event loop
+        // to play the computer's moves on, so do not enable a computer opponent
 
         // ConsoleView view = new ConsoleView(chessController);
         // chessController.start(view);
@@ -2,29 +2,70 @@ package engine;
 
 import chess.ChessController;
 import chess.ChessView;
+import chess.PieceType;
 import chess.PlayerColor;
+import engine.board.BitboardChessBoard;
 import engine.board.ChessBoard;
 import engine.board.ChessBoardController;
 import engine.board.ChessBoardInitializer;
+import engine.board.GameStatus;
 import engine.move.ChessMove;
+import engine.move.MoveList;
 import engine.move.Moves;
-import engine.piece.ChessPiece;
+import engine.move.PackedMove;
+import engine.notation.Lan;
+import engine.notation.San;
 import engine.piece.Position;
+import engine.search.ParallelSearch;
+import engine.search.SearchLimits;
+import engine.search.TranspositionTable;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Main engine class responsible for managing the chess game logic, turns, and
  * interactions with the view.
  * Implements the {@link ChessController} interface.
+ * The computer opponent searches on a dedicated thread, such that the view stays
+ * responsive, and its move is played on the controller's thread, where the
+ * view calls the engine. The moves of the human player are refused while the
+ * computer is thinking.
  *
  * @author Leonard Cseres
  * @author Aladin Iseni
  */
 public final class ChessEngine implements ChessController {
+    private final LegalMoveCache legalMoves = new LegalMoveCache();
+    private final Executor controllerThread;
+    private ParallelSearch search;
+    private ExecutorService searchThread;
+    // Identifies the current search, such that the result of a cancelled one is dropped
+    private volatile int searchId;
+    private volatile boolean searching;
+    private int hashSizeMb = TranspositionTable.DEFAULT_SIZE_MB;
+    private PlayerColor computerColor;
+    private SearchLimits computerLimits;
     private ChessBoardController controller;
     private PlayerColor turnColor;
+    private GameStatus status;
+
+    /**
+     * Constructs an engine whose view calls it from the thread of the given
+     * executor, which also plays the moves of the computer opponent, e.g.
+     * {@code SwingUtilities::invokeLater} for a Swing view.
+     *
+     * @param controllerThread runs tasks on the thread calling the engine
+     * @throws IllegalArgumentException if the executor is null
+     */
+    public ChessEngine(Executor controllerThread) {
+        if (controllerThread == null) {
+            throw new IllegalArgumentException("The controller thread executor is required");
+        }
+        this.controllerThread = controllerThread;
+    }
 
     /**
      * Starts the chess game, initializes the board, and starts the view.
@@ -48,7 +89,110 @@ public final class ChessEngine implements ChessController {
         if (controller == null) {
             throw new IllegalStateException("Call ChessEngine.start() before starting a new game");
         }
+        cancelComputerMove();
         ChessBoardInitializer.initializeBoard(controller);
+        legalMoves.invalidate();
+        status = GameStatus.ONGOING;
+        if (search != null) {
+            searchThread.execute(search::clear);
+        }
+        playComputerMove();
+    }
+
+    /**
+     * Lets the computer play one side of the game, searching its moves within
+     * the given limits on all the available processors. If it is already the
+     * computer's turn, it starts thinking at once, and a search in progress for
+     * the previous settings is cancelled.
+     *
+     * @param color  the color played by the computer, or null for none
+     * @param limits the limits of each search
+     * @throws IllegalArgumentException if a color is given without limits
+     */
+    public void setComputerOpponent(PlayerColor color, SearchLimits limits) {
+        if (color != null && limits == null) {
+            throw new IllegalArgumentException("The computer opponent needs search limits");
+        }
+        cancelComputerMove();
+        computerColor = color;
+        computerLimits = limits;
+        if (color != null && search == null) {
+            search = new ParallelSearch(Runtime.getRuntime().availableProcessors(), hashSizeMb);
+            searchThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "computer-opponent");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        if (controller != null) {
+            playComputerMove();
+        }
+    }
+
+    /**
+     * Sets the size of the transposition table of the computer opponent, which
+     * is emptied. Takes effect from the next search, once the current one is
+     * done.
+     *
+     * @param sizeMb the size in megabytes
+     * @throws IllegalArgumentException if the size is invalid
+     */
+    public void setHashSize(int sizeMb) {
+        if (sizeMb < 1 || sizeMb > TranspositionTable.MAX_SIZE_MB) {
+            throw new IllegalArgumentException("Invalid transposition table size: " + sizeMb + " MB");
+        }
+        hashSizeMb = sizeMb;
+        if (search != null) {
+            searchThread.execute(() -> search.setHashSize(sizeMb));
+        }
+    }
+
+    /**
+     * Replaces the game with the position described by the given FEN string, the
+     * side to move playing next. The current game is kept if the string is
+     * malformed.
+     *
+     * @param fen the FEN string describing the position
+     * @throws IllegalStateException    if the ChessEngine was not initialized
+     *                                  properly
+     * @throws IllegalArgumentException if the FEN string is malformed
+     */
+    public void loadPosition(String fen) {
+        if (controller == null) {
+            throw new IllegalStateException("Call ChessEngine.start() before loading a position");
+        }
+        // Parse on a scratch board first so that a malformed string leaves the game untouched
+        ChessBoardInitializer.initializeBoard(new BitboardChessBoard(), fen);
+        cancelComputerMove();
+        ChessBoardInitializer.initializeBoard(controller, fen);
+        turnColor = controller.getBoard().getSideToMove();
+        legalMoves.invalidate();
+        updateState();
+        playComputerMove();
+    }
+
+    /**
+     * Gets the status of the game for the player whose turn it is, updated after
+     * every move.
+     *
+     * @return the game status
+     * @throws IllegalStateException if no game was started
+     */
+    public GameStatus getStatus() {
+        if (status == null) {
+            throw new IllegalStateException("Call ChessEngine.start() before querying the game status");
+        }
+        return status;
+    }
+
+    /**
+     * Checks if the computer opponent is searching its move, during which the
+     * moves of the human player are refused.
+     *
+     * @return true if the computer is thinking
+     */
+    public boolean isComputerThinking() {
+        return searching;
     }
 
     /**
@@ -58,25 +202,68 @@ public final class ChessEngine implements ChessController {
      * @param fromY the starting Y-coordinate
      * @param toX   the destination X-coordinate
      * @param toY   the destination Y-coordinate
-     * @return true if the move is successful, false otherwise
+     * @return true if the move is successful, false otherwise, e.g. while the
+     * computer is thinking, once the game is over or if the promotion choice is
+     * cancelled
      */
     @Override
     public boolean move(int fromX, int fromY, int toX, int toY) {
+        if (searching || status.isGameOver()) {
+            return false;
+        }
         Position from = new Position(fromX, fromY);
         Position to = new Position(toX, toY);
         assert from.isValid() : "From position is invalid";
         assert to.isValid() : "To position is invalid";
         assert controller.getBoard().containsKey(from) : "From position is invalid";
 
-        ChessBoard board = controller.getBoard();
-        Moves moves = board.get(from).getPossibleMoves(board, from);
+        Moves moves = legalMoves.getMoves(controller.getBoard(), from);
         ChessMove move = moves.getMove(to);
-        if (!board.getValidator().isValidMove(move, turnColor)) {
+        if (move == null) {
             return false;
         }
-        move.execute(controller);
-        nextTurn();
-        updateState();
+        if (move.getPromotion() != null) {
+            // Only ask once the move is known to be legal
+            PieceType promotion = controller.askPromotion(turnColor);
+            if (promotion == null) {
+                return false;
+            }
+            move = moves.getMove(to, promotion);
+        }
+        play(move);
+        return true;
+    }
+
+    /**
+     * Attempts to make a move written in Standard Algebraic Notation, e.g. "Nf3"
+     * or "exd8=Q", or in Long Algebraic Notation, e.g. "g1-f3" or "e7e8q".
+     *
+     * @param notation the move in SAN or LAN
+     * @return true if the move is successful, false if it is malformed, illegal
+     * or ambiguous, while the computer is thinking or once the game is over
+     * @throws IllegalStateException if the ChessEngine was not initialized
+     *                               properly
+     */
+    public boolean move(String notation) {
+        if (controller == null) {
+            throw new IllegalStateException("Call ChessEngine.start() before making a move");
+        }
+        if (searching || status.isGameOver()) {
+            return false;
+        }
+        ChessBoard board = controller.getBoard();
+        MoveList moves = legalMoves.getMoves(board);
+        int move;
+        try {
+            move = San.parse(board, moves, notation);
+        } catch (IllegalArgumentException e) {
+            try {
+                move = Lan.parse(board, moves, notation);
+            } catch (IllegalArgumentException lanException) {
+                return false;
+            }
+        }
+        play(PackedMove.toChessMove(board, move));
         return true;
     }
 
@@ -88,22 +275,81 @@ public final class ChessEngine implements ChessController {
      */
     @Override
     public void select(int x, int y) {
+        if (searching) {
+            return;
+        }
         Position from = new Position(x, y);
         assert from.isValid() : "From position is invalid";
         assert controller.getBoard().containsKey(from) : "From position is invalid";
 
-        ChessBoard board = controller.getBoard();
-        ChessPiece piece = board.get(from);
+        List<Position> positions = legalMoves.getDestinations(controller.getBoard(), from);
 
-        Moves moves = piece.getPossibleMoves(board, from);
-        List<Position> positions = new ArrayList<>();
-        for (ChessMove move : moves.getAllMoves()) {
-            if (board.getValidator().isValidMove(move, turnColor)) {
-                positions.add(move.getTo());
-            }
+        controller.getView().highlightPositions(positions);
+    }
+
+    /**
+     * Plays a legal move and moves on to the next turn.
+     *
+     * @param move the legal move
+     */
+    private void play(ChessMove move) {
+        move.execute(controller);
+        legalMoves.invalidate();
+        nextTurn();
+        updateState();
+        playComputerMove();
+    }
+
+    /**
+     * Starts searching the computer's move on the search thread if it is its
+     * turn and the game is not over. The move is played on the controller's
+     * thread once found. If the search fails, the human player may move
+     * again.
+     */
+    private void playComputerMove() {
+        if (turnColor != computerColor || status.isGameOver()) {
+            return;
         }
+        searching = true;
+        int id = ++searchId;
+        ChessBoard position = controller.getBoard().clone();
+        SearchLimits limits = computerLimits;
+        int generation = search.getGeneration();
+        searchThread.execute(() -> {
+            if (id != searchId) {
+                return;
+            }
+            int move;
+            try {
+                move = search.search(position, limits, generation).move();
+            } catch (RuntimeException e) {
+                // Let the human player move again rather than waiting forever
+                controllerThread.execute(() -> {
+                    if (id == searchId) {
+                        searching = false;
+                    }
+                });
+                throw e;
+            }
+            controllerThread.execute(() -> {
+                // A new game or position may have cancelled the search meanwhile
+                if (id == searchId) {
+                    searching = false;
+                    play(PackedMove.toChessMove(controller.getBoard(), move));
+                }
+            });
+        });
+    }
 
-        controller.getView().highlightPositions(positions);
+    /**
+     * Cancels the search of the computer's move, if any. Its result is dropped.
+     */
+    private void cancelComputerMove() {
+        if (searching) {
+            searchId++;
+            searching = false;
+            search.stop();
+        }
     }
 
     /**
@@ -127,18 +373,16 @@ public final class ChessEngine implements ChessController {
      */
     private void updateState() {
         ChessBoard board = controller.getBoard();
-        String event;
-        if (board.getValidator().isCheckmate(turnColor)) {
-            event = "Checkmate! " + getOpponentPlayer() + " won!";
-        } else if (board.getValidator().isStalemate(turnColor)) {
-            event = "Stalemate... It's a draw";
-        } else if (board.getValidator().isDraw()) {
-            event = "Draw! Impossible to checkmate";
-        } else if (board.getValidator().isKingInCheck(turnColor)) {
-            event = "Check!";
-        } else {
-            event = null;
-        }
+        status = board.getValidator().getStatus(legalMoves.isInCheck(board), !legalMoves.getMoves(board).isEmpty());
+        String event = switch (status) {
+            case CHECKMATE -> "Checkmate! " + getOpponentPlayer() + " won!";
+            case STALEMATE -> "Stalemate... It's a draw";
+            case INSUFFICIENT_MATERIAL -> "Draw! Impossible to checkmate";
+            case THREEFOLD_REPETITION -> "Draw! Threefold repetition";
+            case FIFTY_MOVE_RULE -> "Draw! Fifty moves without a capture or a pawn move";
+            case CHECK -> "Check!";
+            case ONGOING -> null;
+        };
 
         if (event != null) {
             controller.getView().displayMessage(event);
@@ -0,0 +1,108 @@
+package engine;
+
+import engine.board.Bitboards;
+import engine.board.ChessBoard;
+import engine.board.LegalMoveGenerator;
+import engine.move.MoveList;
+import engine.move.Moves;
+import engine.move.PackedMove;
+import engine.piece.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caches the legal moves of the side to move for the current ply, such that
+ * selecting a piece, playing a move and computing the game status share a
+ * single generation.
+ * The cache is keyed by the Zobrist key of the position, and must also be
+ * invalidated explicitly whenever the board changes.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+final class LegalMoveCache {
+    private final MoveList moves = new MoveList();
+    private boolean valid = false;
+    private long zobristKey;
+    private boolean inCheck;
+
+    /**
+     * Discards the cached moves, e.g. after a move or a new game.
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Gets the legal moves of the side to move, generating them if the cache is
+     * not up to date with the board.
+     *
+     * @param board the chessboard
+     * @return the legal moves, as packed moves
+     */
+    MoveList getMoves(ChessBoard board) {
+        if (!valid || zobristKey != board.getZobristKey()) {
+            LegalMoveGenerator generator = board.getLegalMoveGenerator(board.getSideToMove());
+            generator.generate(moves);
+            inCheck = generator.isInCheck();
+            zobristKey = board.getZobristKey();
+            valid = true;
+        }
+        return moves;
+    }
+
+    /**
+     * Gets the legal moves of the piece at the given position.
+     *
+     * @param board the chessboard
+     * @param from  the position of the piece
+     * @return the legal moves of the piece, empty if it cannot move
+     */
+    Moves getMoves(ChessBoard board, Position from) {
+        MoveList legalMoves = getMoves(board);
+        int square = Bitboards.square(from);
+        Moves pieceMoves = new Moves();
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (PackedMove.from(legalMoves.get(i)) == square) {
+                pieceMoves.addMove(PackedMove.toChessMove(board, legalMoves.get(i)));
+            }
+        }
+        return pieceMoves;
+    }
+
+    /**
+     * Gets the distinct destinations of the legal moves of the piece at the given
+     * position.
+     *
+     * @param board the chessboard
+     * @param from  the position of the piece
+     * @return the destination positions
+     */
+    List<Position> getDestinations(ChessBoard board, Position from) {
+        MoveList legalMoves = getMoves(board);
+        int square = Bitboards.square(from);
+        long destinations = 0L;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (PackedMove.from(legalMoves.get(i)) == square) {
+                destinations |= Bitboards.bit(PackedMove.to(legalMoves.get(i)));
+            }
+        }
+        List<Position> positions = new ArrayList<>(Long.bitCount(destinations));
+        for (; destinations != 0; destinations &= destinations - 1) {
+            positions.add(Bitboards.position(Long.numberOfTrailingZeros(destinations)));
+        }
+        return positions;
+    }
+
+    /**
+     * Checks if the side to move is in check.
+     *
+     * @param board the chessboard
+     * @return true if the king of the side to move is in check, false otherwise
+     */
+    boolean isInCheck(ChessBoard board) {
+        getMoves(board);
+        return inCheck;
+    }
+}
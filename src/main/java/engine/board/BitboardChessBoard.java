@@ -0,0 +1,204 @@
+package engine.board;
+
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.piece.ChessPiece;
+import engine.piece.Position;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chessboard implementation storing its pieces in 64-bit bitboards, one per
+ * piece kind, along with the occupancy masks of each color.
+ * The pieces are shared immutable instances, so the piece on a square is
+ * derived from the bitboards and a clone only copies a few arrays of longs.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class BitboardChessBoard extends ChessBoard {
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private long[] bitboards = new long[Bitboards.PIECE_KINDS];
+    private long[] colorOccupancy = new long[PlayerColor.values().length];
+    private long occupancy = 0L;
+
+    /**
+     * Retrieves the chess piece at the specified position.
+     *
+     * @param pos the position on the chessboard
+     * @return the {@link ChessPiece} at the specified position, or null if empty
+     */
+    @Override
+    public ChessPiece get(Position pos) {
+        return pos.isValid() ? pieceAt(Bitboards.square(pos)) : null;
+    }
+
+    /**
+     * Checks if a given position contains a chess piece.
+     *
+     * @param pos the position to check
+     * @return true if a piece exists at the given position, false otherwise
+     */
+    @Override
+    public boolean containsKey(Position pos) {
+        return pos.isValid() && (occupancy & Bitboards.bit(Bitboards.square(pos))) != 0;
+    }
+
+    /**
+     * Places a chess piece at the specified position in the bitboards, replacing
+     * the piece that may already be there.
+     *
+     * @param pos   the position to place the piece
+     * @param piece the {@link ChessPiece} to place
+     */
+    @Override
+    protected void placePiece(Position pos, ChessPiece piece) {
+        int square = Bitboards.square(pos);
+        if ((occupancy & Bitboards.bit(square)) != 0) {
+            clearSquare(square);
+        }
+        long bit = Bitboards.bit(square);
+        bitboards[Bitboards.pieceKind(piece.getType(), piece.getColor())] |= bit;
+        colorOccupancy[piece.getColor().ordinal()] |= bit;
+        occupancy |= bit;
+    }
+
+    /**
+     * Removes a chess piece from the specified position in the bitboards.
+     *
+     * @param pos the position to remove the piece from
+     * @return the removed {@link ChessPiece}
+     * @throws IllegalStateException if no piece exit at the position
+     */
+    @Override
+    protected ChessPiece removePiece(Position pos) {
+        if (!containsKey(pos)) {
+            throw new IllegalStateException("No piece exits at " + pos);
+        }
+        return clearSquare(Bitboards.square(pos));
+    }
+
+    /**
+     * Clears all pieces from the storage.
+     */
+    @Override
+    protected void clearPieces() {
+        bitboards = new long[Bitboards.PIECE_KINDS];
+        colorOccupancy = new long[PlayerColor.values().length];
+        occupancy = 0L;
+    }
+
+    /**
+     * Get all the chessboard pieces
+     *
+     * @return a map of the positions its piece
+     */
+    @Override
+    public Map<Position, ChessPiece> getPieces() {
+        Map<Position, ChessPiece> pieces = new HashMap<>();
+        for (long bits = occupancy; bits != 0; bits &= bits - 1) {
+            int square = Long.numberOfTrailingZeros(bits);
+            pieces.put(Bitboards.position(square), pieceAt(square));
+        }
+        return Collections.unmodifiableMap(pieces);
+    }
+
+    /**
+     * Gets the bitboard of the pieces of the given type and color.
+     *
+     * @param type  the type of the pieces
+     * @param color the color of the pieces
+     * @return the bitboard of the pieces
+     */
+    @Override
+    public long getBitboard(PieceType type, PlayerColor color) {
+        return bitboards[Bitboards.pieceKind(type, color)];
+    }
+
+    /**
+     * Gets the bitboard of all the pieces of the given color.
+     *
+     * @param color the color of the pieces
+     * @return the occupancy bitboard of the color
+     */
+    @Override
+    public long getOccupancy(PlayerColor color) {
+        return colorOccupancy[color.ordinal()];
+    }
+
+    /**
+     * Gets the bitboard of all the pieces on the board.
+     *
+     * @return the occupancy bitboard
+     */
+    @Override
+    public long getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Gets the position of the king of the given color.
+     *
+     * @param color the color of the king
+     * @return the position of the king, or null if there is none
+     */
+    @Override
+    Position getKingPosition(PlayerColor color) {
+        long kings = getBitboard(PieceType.KING, color);
+        return kings == 0 ? null : Bitboards.position(Long.numberOfTrailingZeros(kings));
+    }
+
+    /**
+     * Finds the piece on a square by looking up the bitboards.
+     *
+     * @param square the square index
+     * @return the piece on the square, or null if empty
+     */
+    private ChessPiece pieceAt(int square) {
+        long bit = Bitboards.bit(square);
+        if ((occupancy & bit) == 0) {
+            return null;
+        }
+        PlayerColor color = (colorOccupancy[PlayerColor.WHITE.ordinal()] & bit) != 0
+                ? PlayerColor.WHITE
+                : PlayerColor.BLACK;
+        for (PieceType type : PIECE_TYPES) {
+            if ((bitboards[Bitboards.pieceKind(type, color)] & bit) != 0) {
+                return ChessPiece.of(type, color);
+            }
+        }
+        throw new IllegalStateException("Inconsistent bitboards at square " + square);
+    }
+
+    /**
+     * Removes the piece on the given square from all the bitboards.
+     *
+     * @param square the square index of the piece
+     * @return the removed piece
+     */
+    private ChessPiece clearSquare(int square) {
+        ChessPiece piece = pieceAt(square);
+        long mask = ~Bitboards.bit(square);
+        bitboards[Bitboards.pieceKind(piece.getType(), piece.getColor())] &= mask;
+        colorOccupancy[piece.getColor().ordinal()] &= mask;
+        occupancy &= mask;
+        return piece;
+    }
+
+    /**
+     * Creates a clone of this chessboard. Only the bitboards are copied, the
+     * pieces are shared.
+     *
+     * @return a new {@link BitboardChessBoard} instance identical to this one
+     */
+    @Override
+    public BitboardChessBoard clone() {
+        BitboardChessBoard clonedBoard = (BitboardChessBoard) super.clone();
+        clonedBoard.bitboards = bitboards.clone();
+        clonedBoard.colorOccupancy = colorOccupancy.clone();
+        return clonedBoard;
+    }
+}
@@ -0,0 +1,69 @@
+package engine.board;
+
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.piece.Position;
+
+/**
+ * Utility class for 64-bit bitboards.
+ * Square indices go from 0 (a1) to 63 (h8), rank by rank, such that the index
+ * of a position is {@code y * 8 + x}.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public abstract class Bitboards {
+    public static final int SQUARES = 64;
+    public static final int PIECE_KINDS = PieceType.values().length * PlayerColor.values().length;
+
+    private static final int BOARD_SIZE = Position.MAX_X + 1;
+    private static final Position[] POSITIONS = new Position[SQUARES];
+
+    static {
+        for (int square = 0; square < SQUARES; square++) {
+            POSITIONS[square] = new Position(square % BOARD_SIZE, square / BOARD_SIZE);
+        }
+    }
+
+    /**
+     * Gets the square index of a position.
+     *
+     * @param pos the position, must be valid
+     * @return the square index, between 0 and 63
+     */
+    public static int square(Position pos) {
+        return pos.y() * BOARD_SIZE + pos.x();
+    }
+
+    /**
+     * Gets the shared position instance of a square index.
+     *
+     * @param square the square index, between 0 and 63
+     * @return the position of the square
+     */
+    public static Position position(int square) {
+        return POSITIONS[square];
+    }
+
+    /**
+     * Gets the single bit bitboard of a square.
+     *
+     * @param square the square index, between 0 and 63
+     * @return the bitboard with only the square set
+     */
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * Gets the index of a piece kind (type and color), used to index the piece
+     * bitboards.
+     *
+     * @param type  the type of the piece
+     * @param color the color of the piece
+     * @return the piece kind index, between 0 and {@link #PIECE_KINDS} (exclusive)
+     */
+    public static int pieceKind(PieceType type, PlayerColor color) {
+        return color.ordinal() * PieceType.values().length + type.ordinal();
+    }
+}
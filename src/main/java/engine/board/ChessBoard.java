@@ -5,159 +5,351 @@ import chess.PlayerColor;
 import engine.move.ChessMove;
 import engine.piece.ChessPiece;
 import engine.piece.Position;
-import engine.piece.Queen;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Represents the chessboard, managing the state of the game, including pieces
  * and positions.
+ * The storage of the pieces is left to the implementations, see
+ * {@link MapChessBoard} and {@link BitboardChessBoard}, while the
+ * {@link GameState}, the Zobrist key and the history of the Zobrist keys of
+ * the positions played are maintained here.
+ * The pieces are shared immutable instances, so copying a board never copies
+ * them.
  *
  * @author Leonard Cseres
  * @author Aladin Iseni
  */
-public final class ChessBoard implements ChessBoardReader, ChessBoardWriter, Cloneable {
-    private Map<Position, ChessPiece> pieces = new HashMap<>();
-    private ChessMove lastMove = null;
-    private Map<PlayerColor, Position> kings = new HashMap<>();
+public abstract class ChessBoard implements ChessBoardReader, ChessBoardWriter, Cloneable {
+    private static final int WHITE_KING_SQUARE = 4;
+    private static final int BLACK_KING_SQUARE = 60;
+    private static final int INITIAL_HISTORY_CAPACITY = 256;
+
+    private GameState gameState = GameState.EMPTY;
+    private long zobristKey = Zobrist.EMPTY_GAME_STATE;
+    // Part of the Zobrist key contributed by the game state
+    private long gameStateKey = zobristKey;
+    private int[] pieceCounts = new int[Bitboards.PIECE_KINDS];
+    // Number of bishops of both colors standing on white and on black squares
+    private int[] bishopsBySquareColor = new int[PlayerColor.values().length];
+    // Zobrist keys of the positions the moves played so far were played from
+    private long[] keyHistory = new long[INITIAL_HISTORY_CAPACITY];
+    private int historySize;
 
     /**
-     * Creates a new chessboard state validator and returns it
+     * Creates a new chessboard state validator working directly on this board and
+     * returns it. The validator never modifies the board.
      *
      * @return the chessboard state validator
      */
     public ChessBoardStateValidator getValidator() {
-        return new ChessBoardStateValidator(clone());
+        return new ChessBoardStateValidator(this);
+    }
+
+    /**
+     * Creates a legal move generator for the given player in the current position.
+     * It must be discarded once the board changes.
+     *
+     * @param color the color of the player to generate the moves for
+     * @return the legal move generator
+     */
+    public LegalMoveGenerator getLegalMoveGenerator(PlayerColor color) {
+        return new LegalMoveGenerator(this, color);
     }
 
     /**
-     * Retrieves the chess piece at the specified position.
+     * Places a chess piece at the specified position on the board, replacing the
+     * piece that may already be there.
      *
-     * @param pos the position on the chessboard
-     * @return the {@link ChessPiece} at the specified position, or null if empty
+     * @param pos   the position to place the piece
+     * @param piece the {@link ChessPiece} to place
      */
     @Override
-    public ChessPiece get(Position pos) {
-        return pieces.get(pos);
+    public final void put(Position pos, ChessPiece piece) {
+        int square = Bitboards.square(pos);
+        ChessPiece replaced = get(pos);
+        if (replaced != null) {
+            zobristKey ^= Zobrist.piece(replaced, square);
+            updateMaterial(pos, replaced, -1);
+        }
+        placePiece(pos, piece);
+        zobristKey ^= Zobrist.piece(piece, square);
+        updateMaterial(pos, piece, 1);
     }
 
     /**
-     * Checks if a given position contains a chess piece.
+     * Removes a chess piece from the specified position.
      *
-     * @param pos the position to check
-     * @return true if a piece exists at the given position, false otherwise
+     * @param pos the position to remove the piece from
+     * @return the removed {@link ChessPiece}
+     * @throws IllegalStateException if no piece exit at the position
      */
     @Override
-    public boolean containsKey(Position pos) {
-        return pieces.containsKey(pos);
+    public final ChessPiece remove(Position pos) {
+        ChessPiece piece = removePiece(pos);
+        zobristKey ^= Zobrist.piece(piece, Bitboards.square(pos));
+        updateMaterial(pos, piece, -1);
+        return piece;
     }
 
     /**
-     * Retrieves the last move that was made on the chessboard.
+     * Clears all pieces from the chessboard and resets the game state and the
+     * position history.
+     */
+    @Override
+    public final void clear() {
+        clearPieces();
+        gameState = GameState.EMPTY;
+        zobristKey = Zobrist.EMPTY_GAME_STATE;
+        gameStateKey = zobristKey;
+        pieceCounts = new int[Bitboards.PIECE_KINDS];
+        bishopsBySquareColor = new int[PlayerColor.values().length];
+        historySize = 0;
+    }
+
+    /**
+     * Gets the number of pieces of the given type and color, maintained
+     * incrementally as pieces are placed and removed.
      *
-     * @return the last move that was made on the chessboard
+     * @param type  the type of the pieces
+     * @param color the color of the pieces
+     * @return the number of pieces
      */
     @Override
-    public ChessMove getLastMove() {
-        return lastMove;
+    public int getPieceCount(PieceType type, PlayerColor color) {
+        return pieceCounts[Bitboards.pieceKind(type, color)];
     }
 
     /**
-     * Sets the last move that was made on the chessboard.
+     * Gets the game state: the side to move, the castling rights, the en passant
+     * square and the halfmove clock.
      *
-     * @param chessMove the last move that was made
+     * @return the game state
      */
     @Override
-    public void setLastMove(ChessMove chessMove) {
-        lastMove = chessMove;
+    public GameState getGameState() {
+        return gameState;
     }
 
     /**
-     * Places a chess piece at the specified position on the board.
-     * Updates the view and tracks the position of kings.
+     * Gets the color of the player whose turn it is.
      *
-     * @param pos   the position to place the piece
-     * @param piece the {@link ChessPiece} to place
+     * @return the side to move
      */
     @Override
-    public void put(Position pos, ChessPiece piece) {
-        pieces.put(pos, piece);
-        if (piece.getType() == PieceType.KING) {
-            kings.put(piece.getColor(), pos);
+    public PlayerColor getSideToMove() {
+        return gameState.sideToMove();
+    }
+
+    /**
+     * Replaces the game state when setting up a position. Castling rights whose
+     * king or rook is not on its initial square are dropped, and the history of
+     * the positions played so far is forgotten.
+     *
+     * @param state the new game state
+     */
+    @Override
+    public void setGameState(GameState state) {
+        int rights = state.castlingRights() & supportedCastlingRights();
+        GameState newState = rights == state.castlingRights()
+                ? state
+                : new GameState(state.sideToMove(), rights, state.enPassantSquare(), state.halfmoveClock(),
+                        state.fullmoveNumber());
+        gameState = newState;
+        updateGameStateKey();
+        historySize = 0;
+    }
+
+    /**
+     * Replaces the game state with the state after the given move, pushing the
+     * key of the position the move is played from on the history.
+     *
+     * @param move the move being played
+     * @return the previous game state, used to undo the move
+     */
+    @Override
+    public GameState updateGameState(ChessMove move) {
+        if (historySize == keyHistory.length) {
+            keyHistory = Arrays.copyOf(keyHistory, historySize * 2);
         }
+        keyHistory[historySize++] = zobristKey;
+        GameState previous = gameState;
+        GameState next = previous.next(move);
+        gameState = next;
+        updateGameStateKey();
+        return previous;
     }
 
     /**
-     * Removes a chess piece from the specified position.
+     * Restores the game state from before the last move and pops that move's
+     * position from the history.
      *
-     * @param pos the position to remove the piece from
-     * @throws IllegalStateException if no piece exit at the position
+     * @param previous the game state returned by
+     *                 {@link #updateGameState(ChessMove)}
+     * @throws IllegalStateException if no move was played since the position was
+     *                               set up
      */
     @Override
-    public void remove(Position pos) {
-        if (pieces.get(pos) == null) {
-            throw new IllegalStateException("No piece exits at " + pos);
+    public void restoreGameState(GameState previous) {
+        if (historySize == 0) {
+            throw new IllegalStateException("No move to undo");
         }
-        pieces.remove(pos);
+        historySize--;
+        gameState = previous;
+        updateGameStateKey();
     }
 
     /**
-     * Clears all pieces from the chessboard.
+     * Replaces the part of the Zobrist key contributed by the previous game state
+     * with the key of the current one. Whether the en passant file is hashed
+     * depends on the pawns of the side to move: a move updates the game state
+     * before moving its pieces, but the new side to move is the opponent, whose
+     * pawns a double push leaves in place, and an undo restores the game state
+     * after its pieces.
+     */
+    private void updateGameStateKey() {
+        zobristKey ^= gameStateKey;
+        gameStateKey = Zobrist.gameState(gameState, this);
+        zobristKey ^= gameStateKey;
+    }
+
+    /**
+     * Counts how many times the current position occurred earlier in the game.
+     * Only every other position of the last {@link GameState#halfmoveClock()}
+     * plies can match: older positions precede an irreversible move and the
+     * others have the opponent to move.
+     *
+     * @return the number of earlier occurrences of the current position
      */
     @Override
-    public void clear() {
-        pieces.clear();
+    public int getRepetitionCount() {
+        int plies = Math.min(gameState.halfmoveClock(), historySize);
+        int count = 0;
+        for (int ply = 2; ply <= plies; ply += 2) {
+            if (keyHistory[historySize - ply] == zobristKey) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
-     * Handles pawn promotion at the given position.
-     * Defaults to a queen.
+     * Gets the Zobrist key of the position, covering the pieces, the castling
+     * rights, the en passant file and the side to move.
      *
-     * @param pos the position of the pawn being promoted
+     * @return the 64-bit Zobrist key
      */
     @Override
-    public void handlePawnPromotion(Position pos) {
-        put(pos, new Queen(get(pos).getColor()));
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Writes the position as a FEN string, including the castling rights, the en
+     * passant target, the side to move and the clocks.
+     *
+     * @return the FEN string describing the position
+     */
+    public String toFen() {
+        return Fen.write(this);
     }
 
     /**
-     * Checks if the square at the given position is attacked by any piece of the
-     * given color.
+     * Checks if the square at the given position is attacked by any opponent of
+     * the given color.
      *
      * @param position the position to check
-     * @param color    the color of the attacking pieces
+     * @param color    the color of the defending side, the attackers are its
+     *                 opponents
      * @param ignore   the piece type to ignore, can be set to null to check all
      *                 piece types
      * @return true if the square is attacked, false otherwise
      */
     @Override
     public boolean isSquareAttacked(Position position, PlayerColor color, PieceType ignore) {
-        return new ChessBoardStateValidator(this).isSquareAttacked(position, color, ignore);
+        return SquareAttacks.isAttacked(this, Bitboards.square(position), color, ignore);
     }
 
     /**
-     * Get all the chessboard pieces
+     * Places a chess piece in the underlying storage, replacing the piece that may
+     * already be there.
      *
-     * @return a map of the positions its piece
+     * @param pos   the position to place the piece
+     * @param piece the {@link ChessPiece} to place
      */
-    @Override
-    public Map<Position, ChessPiece> getPieces() {
-        return Collections.unmodifiableMap(pieces);
+    protected abstract void placePiece(Position pos, ChessPiece piece);
+
+    /**
+     * Removes a chess piece from the underlying storage.
+     *
+     * @param pos the position to remove the piece from
+     * @return the removed {@link ChessPiece}
+     * @throws IllegalStateException if no piece exit at the position
+     */
+    protected abstract ChessPiece removePiece(Position pos);
+
+    /**
+     * Clears all pieces from the underlying storage.
+     */
+    protected abstract void clearPieces();
+
+    /**
+     * Gets the number of bishops of both colors standing on squares of the given
+     * color.
+     *
+     * @param squareColor the color of the squares
+     * @return the number of bishops on those squares
+     */
+    int getBishopCount(PlayerColor squareColor) {
+        return bishopsBySquareColor[squareColor.ordinal()];
+    }
+
+    /**
+     * Gets the position of the king of the given color.
+     *
+     * @param color the color of the king
+     * @return the position of the king, or null if there is none
+     */
+    abstract Position getKingPosition(PlayerColor color);
+
+    /**
+     * Updates the material counts after a piece was placed or removed.
+     *
+     * @param pos   the position of the piece
+     * @param piece the placed or removed piece
+     * @param delta 1 if the piece was placed, -1 if it was removed
+     */
+    private void updateMaterial(Position pos, ChessPiece piece, int delta) {
+        pieceCounts[Bitboards.pieceKind(piece.getType(), piece.getColor())] += delta;
+        if (piece.getType() == PieceType.BISHOP) {
+            bishopsBySquareColor[pos.getColor().ordinal()] += delta;
+        }
     }
 
     /**
-     * Gets the kings mapped by player color
+     * Gets the castling rights backed by a king and a rook of the same color on
+     * their initial squares.
      *
-     * @return the kings
+     * @return the castling rights bit set
      */
-    Map<PlayerColor, Position> getKings() {
-        return kings;
+    private int supportedCastlingRights() {
+        int rights = 0;
+        for (PlayerColor color : PlayerColor.values()) {
+            int kingSquare = color == PlayerColor.WHITE ? WHITE_KING_SQUARE : BLACK_KING_SQUARE;
+            if ((getBitboard(PieceType.KING, color) & Bitboards.bit(kingSquare)) == 0) {
+                continue;
+            }
+            long rooks = getBitboard(PieceType.ROOK, color);
+            rights |= (rooks & Bitboards.bit(kingSquare + 3)) != 0 ? GameState.castlingRight(color, true) : 0;
+            rights |= (rooks & Bitboards.bit(kingSquare - 4)) != 0 ? GameState.castlingRight(color, false) : 0;
+        }
+        return rights;
     }
 
     /**
-     * Creates a deep clone of this chessboard, including all pieces.
+     * Creates a clone of this chessboard, sharing the immutable pieces and game
+     * state and copying the position history.
      *
      * @return a new {@link ChessBoard} instance identical to this one
      * @throws AssertionError if the clone failed. We assert it won't happen
@@ -166,13 +358,9 @@ public final class ChessBoard implements ChessBoardReader, ChessBoardWriter, Clo
     public ChessBoard clone() {
         try {
             ChessBoard clonedBoard = (ChessBoard) super.clone();
-            // Deep copy the pieces map
-            clonedBoard.pieces = new HashMap<>();
-            for (Map.Entry<Position, ChessPiece> entry : pieces.entrySet()) {
-                clonedBoard.pieces.put(entry.getKey(), entry.getValue().clone());
-            }
-            // Deep copy the kings map
-            clonedBoard.kings = new HashMap<>(kings);
+            clonedBoard.pieceCounts = pieceCounts.clone();
+            clonedBoard.bishopsBySquareColor = bishopsBySquareColor.clone();
+            clonedBoard.keyHistory = keyHistory.clone();
             return clonedBoard;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError("Cloning failed", e);
@@ -1,15 +1,12 @@
 package engine.board;
 
 import chess.ChessView;
+import chess.PieceType;
 import chess.PlayerColor;
 import engine.move.ChessMove;
-import engine.piece.Bishop;
 import engine.piece.ChessPiece;
-import engine.piece.Knight;
 import engine.piece.Position;
 import engine.piece.PromotableChessPiece;
-import engine.piece.Queen;
-import engine.piece.Rook;
 
 /**
  * Wraps the ChessBoard, implementing the ChessBoardWrite interface such that
@@ -19,15 +16,27 @@ import engine.piece.Rook;
  * @author Aladin Iseni
  */
 public final class ChessBoardController implements ChessBoardWriter {
-    private final ChessBoard board = new ChessBoard();
+    private final ChessBoard board;
     private final ChessView view;
 
     /**
-     * Instantiates the ChessBoardController.
+     * Instantiates the ChessBoardController backed by a
+     * {@link BitboardChessBoard}.
      *
      * @param view the ChessView
      */
     public ChessBoardController(ChessView view) {
+        this(view, new BitboardChessBoard());
+    }
+
+    /**
+     * Instantiates the ChessBoardController backed by the given board.
+     *
+     * @param view  the ChessView
+     * @param board the ChessBoard
+     */
+    public ChessBoardController(ChessView view, ChessBoard board) {
+        this.board = board;
         this.view = view;
         this.view.startView();
     }
@@ -67,16 +76,18 @@ public final class ChessBoardController implements ChessBoardWriter {
      * Removes a chess piece from the specified position.
      *
      * @param pos the position to remove the piece from
+     * @return the removed {@link ChessPiece}
      * @throws IllegalStateException if no piece exit at the position
      */
     @Override
-    public void remove(Position pos) {
-        board.remove(pos);
+    public ChessPiece remove(Position pos) {
+        ChessPiece piece = board.remove(pos);
         view.removePiece(pos.x(), pos.y());
+        return piece;
     }
 
     /**
-     * Clears all pieces from the chessboard.
+     * Clears all pieces from the chessboard and resets the game state.
      */
     @Override
     public void clear() {
@@ -87,29 +98,52 @@ public final class ChessBoardController implements ChessBoardWriter {
     }
 
     /**
-     * Sets the last move that was made on the chessboard.
+     * Replaces the game state when setting up a position. The history of the
+     * positions played so far is forgotten.
      *
-     * @param chessMove the last move that was made
+     * @param state the new game state
      */
     @Override
-    public void setLastMove(ChessMove chessMove) {
-        board.setLastMove(chessMove);
+    public void setGameState(GameState state) {
+        board.setGameState(state);
     }
 
     /**
-     * Handles pawn promotion at the given position.
-     * Prompts the user though the ChessView.
+     * Replaces the game state with the state after the given move, recording the
+     * position the move is played from in the history.
      *
-     * @param pos the position of the pawn being promoted
+     * @param move the move being played
+     * @return the previous game state, used to undo the move
      */
     @Override
-    public void handlePawnPromotion(Position pos) {
-        PlayerColor color = board.get(pos).getColor();
-        PromotableChessPiece chosen = view.askUser(
-                "Promotion",
-                "Choose piece for promotion:",
-                new Queen(color), new Rook(color), new Bishop(color), new Knight(color));
-        put(pos, chosen);
+    public GameState updateGameState(ChessMove move) {
+        return board.updateGameState(move);
+    }
 
+    /**
+     * Restores the game state from before the last move and drops that move's
+     * position from the history.
+     *
+     * @param previous the game state returned by
+     *                 {@link #updateGameState(ChessMove)}
+     */
+    @Override
+    public void restoreGameState(GameState previous) {
+        board.restoreGameState(previous);
+    }
+
+    /**
+     * Asks the user which piece a pawn is promoted to, through the ChessView.
+     *
+     * @param color the color of the pawn being promoted
+     * @return the chosen promotion piece type, or null if the user cancelled
+     * the choice
+     */
+    public PieceType askPromotion(PlayerColor color) {
+        PromotableChessPiece[] choices = PromotableChessPiece.TYPES.stream()
+                .map(type -> PromotableChessPiece.of(type, color))
+                .toArray(PromotableChessPiece[]::new);
+        PromotableChessPiece choice = view.askUser("Promotion", "Choose piece for promotion:", choices);
+        return choice == null ? null : choice.getType();
     }
 }
@@ -1,7 +1,9 @@
 package engine.board;
 
+import chess.PieceType;
 import chess.PlayerColor;
-import engine.piece.*;
+import engine.piece.ChessPiece;
+import engine.piece.Position;
 
 /**
  * Utility class for initializing a chessboard with different piece
@@ -27,6 +29,21 @@ public abstract class ChessBoardInitializer {
     public static void initializeBoard(ChessBoardWriter board) {
         board.clear();
         initializeStandardGame(board);
+        board.setGameState(GameState.INITIAL);
+    }
+
+    /**
+     * Initializes the chessboard with the position described by the given FEN
+     * string, including the castling rights, the en passant target, the side to
+     * move and the clocks. The clocks may be omitted.
+     * The string is read in place, so any character sequence can be given.
+     *
+     * @param board the board to initialize
+     * @param fen   the FEN string describing the position
+     * @throws IllegalArgumentException if the FEN string is malformed
+     */
+    public static void initializeBoard(ChessBoardWriter board, CharSequence fen) {
+        Fen.read(board, fen);
     }
 
     /**
@@ -51,14 +68,14 @@ public abstract class ChessBoardInitializer {
      */
     private static void placePieces(ChessBoardWriter board, int row, PlayerColor color) {
         int col = 0;
-        placePiece(board, col++, row, new Rook(color));
-        placePiece(board, col++, row, new Knight(color));
-        placePiece(board, col++, row, new Bishop(color));
-        placePiece(board, col++, row, new Queen(color));
-        placePiece(board, col++, row, new King(color));
-        placePiece(board, col++, row, new Bishop(color));
-        placePiece(board, col++, row, new Knight(color));
-        placePiece(board, col, row, new Rook(color));
+        placePiece(board, col++, row, ChessPiece.of(PieceType.ROOK, color));
+        placePiece(board, col++, row, ChessPiece.of(PieceType.KNIGHT, color));
+        placePiece(board, col++, row, ChessPiece.of(PieceType.BISHOP, color));
+        placePiece(board, col++, row, ChessPiece.of(PieceType.QUEEN, color));
+        placePiece(board, col++, row, ChessPiece.of(PieceType.KING, color));
+        placePiece(board, col++, row, ChessPiece.of(PieceType.BISHOP, color));
+        placePiece(board, col++, row, ChessPiece.of(PieceType.KNIGHT, color));
+        placePiece(board, col, row, ChessPiece.of(PieceType.ROOK, color));
     }
 
     /**
@@ -70,7 +87,7 @@ public abstract class ChessBoardInitializer {
      */
     private static void placePawns(ChessBoardWriter board, int row, PlayerColor color) {
         for (int col = 0; col < BOARD_SIZE; col++) {
-            placePiece(board, col, row, new Pawn(color));
+            placePiece(board, col, row, ChessPiece.of(PieceType.PAWN, color));
         }
     }
 
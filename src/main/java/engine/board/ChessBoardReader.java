@@ -2,7 +2,6 @@ package engine.board;
 
 import chess.PieceType;
 import chess.PlayerColor;
-import engine.move.ChessMove;
 import engine.piece.ChessPiece;
 import engine.piece.Position;
 
@@ -40,18 +39,80 @@ public interface ChessBoardReader {
     boolean containsKey(Position pos);
 
     /**
-     * Retrieves the last move that was made on the chessboard.
+     * Gets the bitboard of the pieces of the given type and color, see
+     * {@link Bitboards} for the square indices.
      *
-     * @return the last move that was made on the chessboard
+     * @param type  the type of the pieces
+     * @param color the color of the pieces
+     * @return the bitboard of the pieces
      */
-    ChessMove getLastMove();
+    long getBitboard(PieceType type, PlayerColor color);
 
     /**
-     * Checks if the square at the given position is attacked by any piece of the
-     * given color.
+     * Gets the number of pieces of the given type and color.
+     *
+     * @param type  the type of the pieces
+     * @param color the color of the pieces
+     * @return the number of pieces
+     */
+    int getPieceCount(PieceType type, PlayerColor color);
+
+    /**
+     * Gets the bitboard of all the pieces of the given color.
+     *
+     * @param color the color of the pieces
+     * @return the occupancy bitboard of the color
+     */
+    long getOccupancy(PlayerColor color);
+
+    /**
+     * Gets the bitboard of all the pieces on the board.
+     *
+     * @return the occupancy bitboard
+     */
+    long getOccupancy();
+
+    /**
+     * Gets the game state: the side to move, the castling rights, the en passant
+     * square and the halfmove clock.
+     *
+     * @return the game state
+     */
+    GameState getGameState();
+
+    /**
+     * Counts how many times the current position occurred earlier in the game,
+     * with the same side to move, castling rights and en passant file.
+     * Only the positions since the last pawn move or capture are scanned, as no
+     * earlier position can be repeated.
+     *
+     * @return the number of earlier occurrences of the current position
+     */
+    int getRepetitionCount();
+
+    /**
+     * Gets the color of the player whose turn it is.
+     *
+     * @return the side to move
+     */
+    PlayerColor getSideToMove();
+
+    /**
+     * Gets the Zobrist key of the position, covering the pieces, the castling
+     * rights, the en passant file and the side to move.
+     * Two boards with the same position have the same key.
+     *
+     * @return the 64-bit Zobrist key
+     */
+    long getZobristKey();
+
+    /**
+     * Checks if the square at the given position is attacked by any opponent of
+     * the given color.
      *
      * @param position the position to check
-     * @param color    the color of the attacking pieces
+     * @param color    the color of the defending side, the attackers are its
+     *                 opponents
      * @param ignore   the piece type to ignore, can be set to null to check all
      *                 piece types
      * @return true if the square is attacked, false otherwise
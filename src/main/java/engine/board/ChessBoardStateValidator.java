@@ -1,10 +1,7 @@
 package engine.board;
 
-import chess.PieceType;
 import chess.PlayerColor;
 import engine.move.ChessMove;
-import engine.move.Moves;
-import engine.piece.ChessPiece;
 import engine.piece.Position;
 
 /**
@@ -16,8 +13,11 @@ import engine.piece.Position;
  * @author Aladin Iseni
  */
 public final class ChessBoardStateValidator {
+    private static final int FIFTY_MOVE_RULE_PLIES = 100;
+    // Earlier occurrences of the current position making it a threefold one
+    private static final int THREEFOLD_REPETITIONS = 2;
+
     private final ChessBoard board;
-    private final MaterialCounter materialCounter;
 
     /**
      * Creates a new ChessBoardStateValidator to validate game states and moves for
@@ -27,7 +27,43 @@ public final class ChessBoardStateValidator {
      */
     public ChessBoardStateValidator(ChessBoard board) {
         this.board = board;
-        this.materialCounter = new MaterialCounter(board);
+    }
+
+    /**
+     * Computes the status of the game for the player of the given color, with a
+     * single check test and a legal move scan stopping at the first move found.
+     * The material is only counted if the player can move.
+     *
+     * @param color the color of the player to move
+     * @return the game status
+     */
+    public GameStatus getStatus(PlayerColor color) {
+        LegalMoveGenerator generator = board.getLegalMoveGenerator(color);
+        return getStatus(generator.isInCheck(), generator.hasLegalMove());
+    }
+
+    /**
+     * Computes the status of the game from already known check and legal move
+     * information, e.g. from a move cache.
+     *
+     * @param inCheck      true if the player to move is in check
+     * @param hasLegalMove true if the player to move has at least one legal move
+     * @return the game status
+     */
+    public GameStatus getStatus(boolean inCheck, boolean hasLegalMove) {
+        if (!hasLegalMove) {
+            return inCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        }
+        if (isInsufficientMaterial()) {
+            return GameStatus.INSUFFICIENT_MATERIAL;
+        }
+        if (isThreefoldRepetition()) {
+            return GameStatus.THREEFOLD_REPETITION;
+        }
+        if (isFiftyMoveRule()) {
+            return GameStatus.FIFTY_MOVE_RULE;
+        }
+        return inCheck ? GameStatus.CHECK : GameStatus.ONGOING;
     }
 
     /**
@@ -37,7 +73,8 @@ public final class ChessBoardStateValidator {
      * @return true if the player is in checkmate, false otherwise
      */
     public boolean isCheckmate(PlayerColor color) {
-        return isKingInCheck(color) && hasNoLegalMoves(color);
+        LegalMoveGenerator generator = board.getLegalMoveGenerator(color);
+        return generator.isInCheck() && !generator.hasLegalMove();
     }
 
     /**
@@ -47,7 +84,8 @@ public final class ChessBoardStateValidator {
      * @return true if the player is in stalemate, false otherwise
      */
     public boolean isStalemate(PlayerColor color) {
-        return !isKingInCheck(color) && hasNoLegalMoves(color);
+        LegalMoveGenerator generator = board.getLegalMoveGenerator(color);
+        return !generator.isInCheck() && !generator.hasLegalMove();
     }
 
     /**
@@ -58,94 +96,57 @@ public final class ChessBoardStateValidator {
      * @return true if the move is valid, false otherwise
      */
     public boolean isValidMove(ChessMove move, PlayerColor turnColor) {
-        if (move == null || move.getFromPiece().getColor() != turnColor) {
-            return false;
-        }
-        return !wouldResultInCheck(move, turnColor);
+        return board.getLegalMoveGenerator(turnColor).isLegal(move);
     }
 
     /**
-     * Checks if the game is a draw based on insufficient material.
-     * Handles scenarios: K vs K, K+B vs K, K+N vs K, and K+B vs K+B (same colored
-     * squares)
+     * Checks if the game is a draw by insufficient material, threefold repetition
+     * or the fifty-move rule. Stalemate is not covered, see
+     * {@link #isStalemate(PlayerColor)}.
      *
-     * @return true if the game is a draw due to insufficient material
+     * @return true if the game is a draw
      */
     public boolean isDraw() {
-        return materialCounter.isInsufficientMaterial();
+        return isInsufficientMaterial() || isThreefoldRepetition() || isFiftyMoveRule();
     }
 
     /**
-     * Checks if the king of the given color is in check.
-     *
-     * @param kingColor the color of the king to check
-     * @return true if the king is in check, false otherwise
-     */
-    public boolean isKingInCheck(PlayerColor kingColor) {
-        Position kingPosition = board.getKings().get(kingColor);
-        return isSquareAttacked(kingPosition, kingColor, null);
-    }
-
-    /**
-     * Checks if the square at the given position is attacked by any piece of the
-     * given color.
+     * Checks if the game is a draw based on insufficient material.
+     * Handles scenarios: K vs K, K+B vs K, K+N vs K, K+N+N vs K, and any number of
+     * bishops on same colored squares
      *
-     * @param position the position to check
-     * @param color    the color of the attacking pieces
-     * @param ignore   the piece type to ignore, can be set to null to check all
-     *                 piece types
-     * @return true if the square is attacked, false otherwise
+     * @return true if the game is a draw due to insufficient material
      */
-    boolean isSquareAttacked(Position position, PlayerColor color, PieceType ignore) {
-        return board.getPieces().entrySet().stream()
-                .filter(entry -> {
-                    ChessPiece piece = entry.getValue();
-                    return piece.getColor() != color &&
-                            (ignore == null || ignore != piece.getType());
-                }).anyMatch(entry -> {
-                    Moves possibleMoves = entry.getValue().getPossibleMoves(board, entry.getKey());
-                    return possibleMoves.getMove(position) != null;
-                });
+    public boolean isInsufficientMaterial() {
+        return MaterialCounter.isInsufficientMaterial(board);
     }
 
     /**
-     * Determines if the current board state results in the given color having no
-     * legal moves.
+     * Checks if the current position occurred for the third time.
      *
-     * @param color the color of the player to check
-     * @return true if the player has no legal moves, false otherwise
+     * @return true if the game is a draw by threefold repetition
      */
-    private boolean hasNoLegalMoves(PlayerColor color) {
-        return board.getPieces().entrySet().stream()
-                .filter(entry -> entry.getValue().getColor() == color)
-                .noneMatch(entry -> hasLegalMove(entry.getValue(), entry.getKey()));
+    public boolean isThreefoldRepetition() {
+        return board.getRepetitionCount() >= THREEFOLD_REPETITIONS;
     }
 
     /**
-     * Determines if the given piece at the specified position has any legal moves.
+     * Checks if a hundred plies were played without a pawn move or a capture.
      *
-     * @param piece    the chess piece to check
-     * @param position the position of the chess piece
-     * @return true if the piece has at least one legal move, false otherwise
+     * @return true if the game is a draw by the fifty-move rule
      */
-    private boolean hasLegalMove(ChessPiece piece, Position position) {
-        Moves possibleMoves = piece.getPossibleMoves(board, position);
-        return possibleMoves.getAllMoves().stream()
-                .anyMatch(move -> !wouldResultInCheck(move, piece.getColor()));
+    public boolean isFiftyMoveRule() {
+        return board.getGameState().halfmoveClock() >= FIFTY_MOVE_RULE_PLIES;
     }
 
     /**
-     * Simulates a move on a cloned board to determine if it results in the king
-     * being in check.
+     * Checks if the king of the given color is in check.
      *
-     * @param move      the move to simulate
-     * @param turnColor the color of the player making the move
-     * @return true if the simulated move results in the king being in check, false
-     * otherwise
+     * @param kingColor the color of the king to check
+     * @return true if the king is in check, false otherwise
      */
-    private boolean wouldResultInCheck(ChessMove move, PlayerColor turnColor) {
-        ChessBoard testBoard = board.clone();
-        move.execute(testBoard);
-        return testBoard.getValidator().isKingInCheck(turnColor);
+    public boolean isKingInCheck(PlayerColor kingColor) {
+        Position kingPosition = board.getKingPosition(kingColor);
+        return board.isSquareAttacked(kingPosition, kingColor, null);
     }
 }
@@ -24,26 +24,41 @@ public interface ChessBoardWriter {
      * Removes a chess piece from the specified position.
      *
      * @param pos the position to remove the piece from
+     * @return the removed {@link ChessPiece}
      * @throws IllegalStateException if no piece exit at the position
      */
-    void remove(Position pos);
+    ChessPiece remove(Position pos);
 
     /**
-     * Clears all pieces from the chessboard.
+     * Clears all pieces from the chessboard and resets the game state.
      */
     void clear();
 
     /**
-     * Sets the last move that was made on the chessboard.
+     * Replaces the game state when setting up a position. The history of the
+     * positions played so far is forgotten.
      *
-     * @param chessMove the last move that was made
+     * @param state the new game state
      */
-    void setLastMove(ChessMove chessMove);
+    void setGameState(GameState state);
 
     /**
-     * Handles pawn promotion at the given position.
+     * Replaces the game state with the state after the given move, recording the
+     * position the move is played from in the history.
+     * Must be called before the move changes any piece.
      *
-     * @param pos the position of the pawn being promoted
+     * @param move the move being played
+     * @return the previous game state, used to undo the move
      */
-    void handlePawnPromotion(Position pos);
+    GameState updateGameState(ChessMove move);
+
+    /**
+     * Restores the game state from before the last move and drops that move's
+     * position from the history.
+     * Must be called once the pieces of the undone move are back in place.
+     *
+     * @param previous the game state returned by
+     *                 {@link #updateGameState(ChessMove)}
+     */
+    void restoreGameState(GameState previous);
 }
@@ -0,0 +1,442 @@
+package engine.board;
+
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.generator.LeaperAttacks;
+import engine.generator.SlidingAttacks;
+import engine.piece.ChessPiece;
+import engine.piece.Position;
+
+/**
+ * Utility class reading and writing positions in the Forsyth-Edwards Notation.
+ * A FEN string is read in a single pass over its characters, without splitting
+ * it nor copying its fields, so it can be parsed straight from a larger buffer.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+abstract class Fen {
+    private static final int BOARD_SIZE = 8;
+    private static final int MAX_NUMBER_DIGITS = 9;
+
+    /**
+     * Sets up the given board with the position described by a FEN string.
+     * The halfmove clock and the fullmove number may be omitted, they then
+     * default to 0 and 1.
+     *
+     * @param board the board to set up
+     * @param fen   the FEN string describing the position
+     * @throws IllegalArgumentException if the FEN string is malformed
+     */
+    static void read(ChessBoardWriter board, CharSequence fen) {
+        new Reader(board, fen).read();
+    }
+
+    /**
+     * Writes the position of the given board as a FEN string.
+     *
+     * @param board the board to write
+     * @return the FEN string describing the position
+     */
+    static String write(ChessBoardReader board) {
+        StringBuilder fen = new StringBuilder(90);
+        for (int y = BOARD_SIZE - 1; y >= 0; y--) {
+            int empty = 0;
+            for (int x = 0; x < BOARD_SIZE; x++) {
+                ChessPiece piece = board.get(new Position(x, y));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append(empty);
+                    empty = 0;
+                }
+                char letter = letter(piece.getType());
+                fen.append(piece.getColor() == PlayerColor.WHITE ? Character.toUpperCase(letter) : letter);
+            }
+            if (empty > 0) {
+                fen.append(empty);
+            }
+            if (y > 0) {
+                fen.append('/');
+            }
+        }
+
+        GameState state = board.getGameState();
+        fen.append(state.sideToMove() == PlayerColor.WHITE ? " w " : " b ");
+        if (state.castlingRights() == 0) {
+            fen.append('-');
+        } else {
+            appendIf(fen, state.hasCastlingRight(PlayerColor.WHITE, true), 'K');
+            appendIf(fen, state.hasCastlingRight(PlayerColor.WHITE, false), 'Q');
+            appendIf(fen, state.hasCastlingRight(PlayerColor.BLACK, true), 'k');
+            appendIf(fen, state.hasCastlingRight(PlayerColor.BLACK, false), 'q');
+        }
+        fen.append(' ');
+        if (state.enPassantSquare() == GameState.NO_EN_PASSANT) {
+            fen.append('-');
+        } else {
+            Position target = Bitboards.position(state.enPassantSquare());
+            fen.append((char) ('a' + target.x())).append((char) ('1' + target.y()));
+        }
+        return fen.append(' ').append(state.halfmoveClock())
+                .append(' ').append(state.fullmoveNumber())
+                .toString();
+    }
+
+    /**
+     * Gets the lowercase FEN letter of a piece type.
+     *
+     * @param type the piece type
+     * @return the lowercase piece letter
+     */
+    private static char letter(PieceType type) {
+        return switch (type) {
+            case PAWN -> 'p';
+            case KNIGHT -> 'n';
+            case BISHOP -> 'b';
+            case ROOK -> 'r';
+            case QUEEN -> 'q';
+            case KING -> 'k';
+        };
+    }
+
+    /**
+     * Appends a character if a condition holds.
+     *
+     * @param fen       the FEN string being written
+     * @param condition the condition
+     * @param c         the character to append
+     */
+    private static void appendIf(StringBuilder fen, boolean condition, char c) {
+        if (condition) {
+            fen.append(c);
+        }
+    }
+
+    /**
+     * A cursor over a FEN string, reading one field after the other.
+     */
+    private static final class Reader {
+        private final ChessBoardWriter board;
+        private final CharSequence fen;
+        // Bitboards of the pieces placed so far, indexed by piece kind
+        private final long[] pieces = new long[Bitboards.PIECE_KINDS];
+        private long occupancy;
+        private int index;
+
+        /**
+         * Creates a reader positioned on the first non-blank character.
+         *
+         * @param board the board to set up
+         * @param fen   the FEN string to read
+         */
+        Reader(ChessBoardWriter board, CharSequence fen) {
+            this.board = board;
+            this.fen = fen;
+            skipBlanks();
+        }
+
+        /**
+         * Reads all the fields and sets up the board.
+         *
+         * @throws IllegalArgumentException if the FEN string is malformed
+         */
+        void read() {
+            board.clear();
+            readPlacement();
+            PlayerColor sideToMove = readSideToMove();
+            // The side to move could otherwise capture the king
+            if (isInCheck(opponent(sideToMove))) {
+                throw error("side to move");
+            }
+            int castlingRights = readCastlingRights();
+            int enPassantSquare = readEnPassantSquare(sideToMove);
+            int halfmoveClock = atEnd() ? 0 : readNumber("halfmove clock");
+            int fullmoveNumber = atEnd() ? 1 : readNumber("fullmove number");
+            if (!atEnd()) {
+                throw error("trailing characters");
+            }
+            if (fullmoveNumber < 1) {
+                throw error("fullmove number");
+            }
+            board.setGameState(new GameState(sideToMove, castlingRights, enPassantSquare, halfmoveClock,
+                    fullmoveNumber));
+        }
+
+        /**
+         * Reads the piece placement field, from rank 8 to rank 1, and places the
+         * pieces. Each rank must cover the eight files, each side must have a
+         * single king and no pawn may stand on the first or last rank.
+         *
+         * @throws IllegalArgumentException if the placement is malformed
+         */
+        private void readPlacement() {
+            int x = 0;
+            int y = BOARD_SIZE - 1;
+            int whiteKings = 0;
+            int blackKings = 0;
+            for (; !atFieldEnd(); index++) {
+                char c = fen.charAt(index);
+                if (c == '/') {
+                    if (x != BOARD_SIZE || y == 0) {
+                        throw error("piece placement");
+                    }
+                    x = 0;
+                    y--;
+                } else if (c >= '1' && c <= '8') {
+                    x += c - '0';
+                    if (x > BOARD_SIZE) {
+                        throw error("piece placement");
+                    }
+                } else {
+                    if (x == BOARD_SIZE) {
+                        throw error("piece placement");
+                    }
+                    PlayerColor color = Character.isUpperCase(c) ? PlayerColor.WHITE : PlayerColor.BLACK;
+                    PieceType type = pieceType(Character.toLowerCase(c));
+                    if (type == PieceType.PAWN && (y == 0 || y == BOARD_SIZE - 1)) {
+                        throw error("piece placement");
+                    }
+                    if (type == PieceType.KING) {
+                        if (color == PlayerColor.WHITE) {
+                            whiteKings++;
+                        } else {
+                            blackKings++;
+                        }
+                    }
+                    long bit = Bitboards.bit(y * BOARD_SIZE + x);
+                    pieces[Bitboards.pieceKind(type, color)] |= bit;
+                    occupancy |= bit;
+                    board.put(new Position(x++, y), ChessPiece.of(type, color));
+                }
+            }
+            if (x != BOARD_SIZE || y != 0) {
+                throw error("piece placement");
+            }
+            if (whiteKings != 1 || blackKings != 1) {
+                throw error("number of kings");
+            }
+            nextField();
+        }
+
+        /**
+         * Gets the piece type matching a lowercase FEN piece letter.
+         *
+         * @param letter the lowercase piece letter
+         * @return the piece type
+         * @throws IllegalArgumentException if the letter is unknown
+         */
+        private PieceType pieceType(char letter) {
+            return switch (letter) {
+                case 'p' -> PieceType.PAWN;
+                case 'n' -> PieceType.KNIGHT;
+                case 'b' -> PieceType.BISHOP;
+                case 'r' -> PieceType.ROOK;
+                case 'q' -> PieceType.QUEEN;
+                case 'k' -> PieceType.KING;
+                default -> throw error("piece");
+            };
+        }
+
+        /**
+         * Reads the side to move field, "w" or "b".
+         *
+         * @return the side to move
+         * @throws IllegalArgumentException if the field is malformed
+         */
+        private PlayerColor readSideToMove() {
+            PlayerColor color = switch (next()) {
+                case 'w' -> PlayerColor.WHITE;
+                case 'b' -> PlayerColor.BLACK;
+                default -> throw error("side to move");
+            };
+            nextField();
+            return color;
+        }
+
+        /**
+         * Reads the castling rights field, e.g. "KQkq" or "-".
+         *
+         * @return the castling rights bit set
+         * @throws IllegalArgumentException if the field is malformed
+         */
+        private int readCastlingRights() {
+            int rights = 0;
+            if (peek() == '-') {
+                index++;
+            } else {
+                do {
+                    int right = switch (next()) {
+                        case 'K' -> GameState.WHITE_SHORT_CASTLING;
+                        case 'Q' -> GameState.WHITE_LONG_CASTLING;
+                        case 'k' -> GameState.BLACK_SHORT_CASTLING;
+                        case 'q' -> GameState.BLACK_LONG_CASTLING;
+                        default -> throw error("castling rights");
+                    };
+                    if ((rights & right) != 0) {
+                        throw error("castling rights");
+                    }
+                    rights |= right;
+                } while (!atFieldEnd());
+            }
+            nextField();
+            return rights;
+        }
+
+        /**
+         * Reads the en passant target field, e.g. "e3" or "-". The target must be
+         * the empty square just skipped by a double push of a pawn of the opponent
+         * of the side to move, which stands right behind it.
+         *
+         * @param sideToMove the side to move
+         * @return the en passant square index, or {@link GameState#NO_EN_PASSANT}
+         * @throws IllegalArgumentException if the field is malformed
+         */
+        private int readEnPassantSquare(PlayerColor sideToMove) {
+            if (peek() == '-') {
+                index++;
+                nextField();
+                return GameState.NO_EN_PASSANT;
+            }
+            int x = next() - 'a';
+            int y = next() - '1';
+            int targetRank = sideToMove == PlayerColor.WHITE ? 5 : 2;
+            if (x < 0 || x >= BOARD_SIZE || y != targetRank) {
+                throw error("en passant target");
+            }
+            int target = y * BOARD_SIZE + x;
+            int step = sideToMove == PlayerColor.WHITE ? BOARD_SIZE : -BOARD_SIZE;
+            long pawn = Bitboards.bit(target - step);
+            if ((occupancy & (Bitboards.bit(target) | Bitboards.bit(target + step))) != 0
+                    || (pieces[Bitboards.pieceKind(PieceType.PAWN, opponent(sideToMove))] & pawn) == 0) {
+                throw error("en passant target");
+            }
+            nextField();
+            return target;
+        }
+
+        /**
+         * Checks if the king of a player is attacked by a piece placed so far.
+         *
+         * @param color the color of the king
+         * @return true if the king is in check, false otherwise
+         */
+        private boolean isInCheck(PlayerColor color) {
+            PlayerColor attacker = opponent(color);
+            int king = Long.numberOfTrailingZeros(pieces[Bitboards.pieceKind(PieceType.KING, color)]);
+            long queens = pieces[Bitboards.pieceKind(PieceType.QUEEN, attacker)];
+            long straightSliders = pieces[Bitboards.pieceKind(PieceType.ROOK, attacker)] | queens;
+            long diagonalSliders = pieces[Bitboards.pieceKind(PieceType.BISHOP, attacker)] | queens;
+            return (LeaperAttacks.pawnAttacks(color, king) & pieces[Bitboards.pieceKind(PieceType.PAWN, attacker)]
+                    | LeaperAttacks.knightAttacks(king) & pieces[Bitboards.pieceKind(PieceType.KNIGHT, attacker)]
+                    | LeaperAttacks.kingAttacks(king) & pieces[Bitboards.pieceKind(PieceType.KING, attacker)]
+                    | SlidingAttacks.rookAttacks(king, occupancy) & straightSliders
+                    | SlidingAttacks.bishopAttacks(king, occupancy) & diagonalSliders) != 0;
+        }
+
+        /**
+         * Gets the opponent of a player.
+         *
+         * @param color the color of the player
+         * @return the color of the opponent
+         */
+        private static PlayerColor opponent(PlayerColor color) {
+            return color == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+        }
+
+        /**
+         * Reads a non-negative decimal number field.
+         *
+         * @param name the name of the field, for error messages
+         * @return the number
+         * @throws IllegalArgumentException if the field is not a number
+         */
+        private int readNumber(String name) {
+            int value = 0;
+            int digits = 0;
+            do {
+                char c = next();
+                if (c < '0' || c > '9' || ++digits > MAX_NUMBER_DIGITS) {
+                    throw error(name);
+                }
+                value = value * 10 + (c - '0');
+            } while (!atFieldEnd());
+            nextField();
+            return value;
+        }
+
+        /**
+         * Gets the current character without consuming it.
+         *
+         * @return the current character, or a space at the end of the string
+         */
+        private char peek() {
+            return index < fen.length() ? fen.charAt(index) : ' ';
+        }
+
+        /**
+         * Consumes the current character.
+         *
+         * @return the consumed character
+         * @throws IllegalArgumentException if the end of the string is reached
+         */
+        private char next() {
+            if (atFieldEnd()) {
+                throw error("field");
+            }
+            return fen.charAt(index++);
+        }
+
+        /**
+         * Checks if the cursor is at the end of a field.
+         *
+         * @return true if the current character is a whitespace or the end is
+         *         reached
+         */
+        private boolean atFieldEnd() {
+            return Character.isWhitespace(peek());
+        }
+
+        /**
+         * Checks if all the fields were read.
+         *
+         * @return true if the end of the string is reached
+         */
+        private boolean atEnd() {
+            return index >= fen.length();
+        }
+
+        /**
+         * Moves the cursor to the start of the next field.
+         *
+         * @throws IllegalArgumentException if the current field is not over
+         */
+        private void nextField() {
+            if (!atFieldEnd()) {
+                throw error("field");
+            }
+            skipBlanks();
+        }
+
+        /**
+         * Skips the whitespace separating the fields.
+         */
+        private void skipBlanks() {
+            while (index < fen.length() && Character.isWhitespace(fen.charAt(index))) {
+                index++;
+            }
+        }
+
+        /**
+         * Creates the exception thrown for a malformed FEN string.
+         *
+         * @param field the malformed part
+         * @return the exception
+         */
+        private IllegalArgumentException error(String field) {
+            return new IllegalArgumentException("Invalid FEN " + field + " at index " + index + ": " + fen);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package engine.board;
+
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.move.ChessMove;
+
+import java.util.Arrays;
+
+/**
+ * The part of a chess position that is not given by the pieces: the side to
+ * move, the castling rights, the en passant target square and the move
+ * clocks.
+ * A game state is immutable, a move replaces it with {@link #next(ChessMove)}
+ * and undoing the move restores the previous instance.
+ *
+ * @param sideToMove      the color of the player whose turn it is
+ * @param castlingRights  the castling rights bit set, see
+ *                        {@link #castlingRight(PlayerColor, boolean)}
+ * @param enPassantSquare the square index skipped by a pawn that just advanced
+ *                        two squares, or {@link #NO_EN_PASSANT}
+ * @param halfmoveClock   the number of plies since the last pawn move or
+ *                        capture, used by the fifty-move rule
+ * @param fullmoveNumber  the number of the current move, starting at 1 and
+ *                        incremented after each move of black
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public record GameState(PlayerColor sideToMove, int castlingRights, int enPassantSquare, int halfmoveClock,
+                        int fullmoveNumber) {
+    public static final int WHITE_SHORT_CASTLING = 1;
+    public static final int WHITE_LONG_CASTLING = 1 << 1;
+    public static final int BLACK_SHORT_CASTLING = 1 << 2;
+    public static final int BLACK_LONG_CASTLING = 1 << 3;
+    public static final int ALL_CASTLING = 0b1111;
+    public static final int NO_EN_PASSANT = -1;
+
+    /**
+     * The state of the standard starting position.
+     */
+    public static final GameState INITIAL = new GameState(PlayerColor.WHITE, ALL_CASTLING, NO_EN_PASSANT, 0, 1);
+
+    /**
+     * The state of a cleared board: white to move, no castling rights.
+     */
+    public static final GameState EMPTY = new GameState(PlayerColor.WHITE, 0, NO_EN_PASSANT, 0, 1);
+
+    // The castling rights kept when a piece moves from or to each square
+    private static final int[] KEPT_CASTLING_RIGHTS = new int[Bitboards.SQUARES];
+
+    static {
+        Arrays.fill(KEPT_CASTLING_RIGHTS, ALL_CASTLING);
+        KEPT_CASTLING_RIGHTS[0] = ALL_CASTLING & ~WHITE_LONG_CASTLING;
+        KEPT_CASTLING_RIGHTS[4] = ALL_CASTLING & ~(WHITE_SHORT_CASTLING | WHITE_LONG_CASTLING);
+        KEPT_CASTLING_RIGHTS[7] = ALL_CASTLING & ~WHITE_SHORT_CASTLING;
+        KEPT_CASTLING_RIGHTS[56] = ALL_CASTLING & ~BLACK_LONG_CASTLING;
+        KEPT_CASTLING_RIGHTS[60] = ALL_CASTLING & ~(BLACK_SHORT_CASTLING | BLACK_LONG_CASTLING);
+        KEPT_CASTLING_RIGHTS[63] = ALL_CASTLING & ~BLACK_SHORT_CASTLING;
+    }
+
+    /**
+     * Validates the castling rights, the en passant square and the move clocks.
+     *
+     * @throws IllegalArgumentException if a value is out of range
+     */
+    public GameState {
+        if (sideToMove == null) {
+            throw new IllegalArgumentException("The side to move is required");
+        }
+        if ((castlingRights & ~ALL_CASTLING) != 0) {
+            throw new IllegalArgumentException("Invalid castling rights: " + castlingRights);
+        }
+        if (enPassantSquare < NO_EN_PASSANT || enPassantSquare >= Bitboards.SQUARES) {
+            throw new IllegalArgumentException("Invalid en passant square: " + enPassantSquare);
+        }
+        if (halfmoveClock < 0) {
+            throw new IllegalArgumentException("Invalid halfmove clock: " + halfmoveClock);
+        }
+        if (fullmoveNumber < 1) {
+            throw new IllegalArgumentException("Invalid fullmove number: " + fullmoveNumber);
+        }
+    }
+
+    /**
+     * Gets the castling right bit of a player on a side.
+     *
+     * @param color    the color of the player
+     * @param kingSide true for short castling, false for long castling
+     * @return the castling right bit
+     */
+    public static int castlingRight(PlayerColor color, boolean kingSide) {
+        return color == PlayerColor.WHITE
+                ? (kingSide ? WHITE_SHORT_CASTLING : WHITE_LONG_CASTLING)
+                : (kingSide ? BLACK_SHORT_CASTLING : BLACK_LONG_CASTLING);
+    }
+
+    /**
+     * Checks if a player still has the right to castle on a side, i.e. its king
+     * and that rook never moved nor were captured.
+     *
+     * @param color    the color of the player
+     * @param kingSide true for short castling, false for long castling
+     * @return true if the castling right is held, false otherwise
+     */
+    public boolean hasCastlingRight(PlayerColor color, boolean kingSide) {
+        return (castlingRights & castlingRight(color, kingSide)) != 0;
+    }
+
+    /**
+     * Computes the state after a move: the opponent of the moved piece is to move,
+     * the castling rights of the squares the move leaves or reaches are lost, a
+     * double pawn advance sets the en passant square, a pawn move or a capture
+     * resets the halfmove clock and a move of black starts the next fullmove.
+     *
+     * @param move the move being played
+     * @return the state after the move
+     */
+    public GameState next(ChessMove move) {
+        int from = Bitboards.square(move.getFrom());
+        int to = Bitboards.square(move.getTo());
+        PlayerColor color = move.getFromPiece().getColor();
+        boolean pawnMove = move.getFromPiece().getType() == PieceType.PAWN;
+        boolean doublePawnAdvance = pawnMove && Math.abs(move.getTo().y() - move.getFrom().y()) == 2;
+        return new GameState(
+                color == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE,
+                castlingRights & KEPT_CASTLING_RIGHTS[from] & KEPT_CASTLING_RIGHTS[to],
+                doublePawnAdvance ? (from + to) / 2 : NO_EN_PASSANT,
+                pawnMove || move.isCapture() ? 0 : halfmoveClock + 1,
+                color == PlayerColor.BLACK ? fullmoveNumber + 1 : fullmoveNumber);
+    }
+}
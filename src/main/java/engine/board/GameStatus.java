@@ -0,0 +1,48 @@
+package engine.board;
+
+/**
+ * The status of a game from the point of view of the side to move.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public enum GameStatus {
+    /**
+     * The side to move is not in check and has legal moves.
+     */
+    ONGOING,
+    /**
+     * The side to move is in check and has legal moves.
+     */
+    CHECK,
+    /**
+     * The side to move is in check and has no legal move, the game is lost.
+     */
+    CHECKMATE,
+    /**
+     * The side to move is not in check and has no legal move, the game is drawn.
+     */
+    STALEMATE,
+    /**
+     * Neither side has enough material to checkmate, the game is drawn.
+     */
+    INSUFFICIENT_MATERIAL,
+    /**
+     * The same position occurred for the third time, the game is drawn.
+     */
+    THREEFOLD_REPETITION,
+    /**
+     * Fifty moves of each side were played without a pawn move or a capture, the
+     * game is drawn.
+     */
+    FIFTY_MOVE_RULE;
+
+    /**
+     * Checks if the game is over with this status.
+     *
+     * @return true for a checkmate or a draw, false otherwise
+     */
+    public boolean isGameOver() {
+        return this != ONGOING && this != CHECK;
+    }
+}
@@ -0,0 +1,443 @@
+package engine.board;
+
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.generator.LeaperAttacks;
+import engine.generator.SlidingAttacks;
+import engine.move.ChessMove;
+import engine.move.EnPassant;
+import engine.move.MoveList;
+import engine.move.PackedMove;
+import engine.piece.ChessPiece;
+import engine.piece.PromotableChessPiece;
+
+/**
+ * Generates the legal moves of a player in a given position, as packed moves
+ * (see {@link PackedMove}) written into a reusable {@link MoveList}.
+ * The checking pieces, the squares blocking a check and the pinned pieces are
+ * computed once per position, such that the target squares of every piece are
+ * restricted with a few masks. Only the king moves and the en passant captures
+ * need a dedicated attack check.
+ * The captures and promotions can be generated alone, restricting the target
+ * squares to the opponent's pieces and the last rank instead of filtering a
+ * full generation.
+ * The generator must be reset with {@link #reset(PlayerColor)} once the board
+ * changes, which does not allocate.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class LegalMoveGenerator {
+    private static final int BOARD_SIZE = 8;
+    private static final long FIRST_RANK = 0xFFL;
+    private static final long LAST_RANK = 0xFFL << 56;
+    private static final long WHITE_PAWN_RANK = 0xFFL << 8;
+    private static final long BLACK_PAWN_RANK = 0xFFL << 48;
+
+    private final ChessBoard board;
+    private final long[] pinRays = new long[Bitboards.SQUARES];
+    private PlayerColor color;
+    private PlayerColor opponent;
+    private int kingSquare;
+    private long checkers;
+    private long checkMask;
+    private long pinned;
+
+    /**
+     * Creates a legal move generator for the given player on the given board.
+     *
+     * @param board the chess board
+     * @param color the color of the player to generate the moves for
+     */
+    public LegalMoveGenerator(ChessBoard board, PlayerColor color) {
+        this.board = board;
+        reset(color);
+    }
+
+    /**
+     * Recomputes the checks and the pins of the given player in the current
+     * position of the board, such that the generator can be reused after the board
+     * changed.
+     *
+     * @param color the color of the player to generate the moves for
+     */
+    public void reset(PlayerColor color) {
+        this.color = color;
+        this.opponent = color == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+        this.kingSquare = Bitboards.square(board.getKingPosition(color));
+        this.checkers = SquareAttacks.attackers(board, kingSquare, opponent, board.getOccupancy());
+        this.checkMask = computeCheckMask();
+        this.pinned = computePins();
+    }
+
+    /**
+     * Checks if the player's king is in check.
+     *
+     * @return true if the king is in check, false otherwise
+     */
+    public boolean isInCheck() {
+        return checkers != 0;
+    }
+
+    /**
+     * Generates all the legal moves of the player, replacing the content of the
+     * given list.
+     *
+     * @param moves the list receiving the packed moves
+     */
+    public void generate(MoveList moves) {
+        generate(moves, false);
+    }
+
+    /**
+     * Generates the legal captures, en passant captures included, and promotions
+     * of the player, replacing the content of the given list. No quiet move is
+     * generated.
+     *
+     * @param moves the list receiving the packed moves
+     */
+    public void generateCaptures(MoveList moves) {
+        generate(moves, true);
+    }
+
+    /**
+     * Generates the legal moves of the player, replacing the content of the given
+     * list.
+     *
+     * @param moves        the list receiving the packed moves
+     * @param capturesOnly true to only generate the captures and promotions
+     */
+    private void generate(MoveList moves, boolean capturesOnly) {
+        moves.clear();
+        long allowed = capturesOnly ? board.getOccupancy(opponent) : ~board.getOccupancy(color);
+        addKingMoves(moves, allowed);
+        // Only the king can escape a double check
+        if (Long.bitCount(checkers) > 1) {
+            return;
+        }
+
+        long targets = allowed & checkMask;
+        long occupancy = board.getOccupancy();
+        long queens = board.getBitboard(PieceType.QUEEN, color);
+        for (long bits = board.getBitboard(PieceType.KNIGHT, color) & ~pinned; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            addPieceMoves(moves, from, LeaperAttacks.knightAttacks(from) & targets);
+        }
+        for (long bits = board.getBitboard(PieceType.BISHOP, color) | queens; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            addPieceMoves(moves, from, SlidingAttacks.bishopAttacks(from, occupancy) & targets & pinMask(from));
+        }
+        for (long bits = board.getBitboard(PieceType.ROOK, color) | queens; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            addPieceMoves(moves, from, SlidingAttacks.rookAttacks(from, occupancy) & targets & pinMask(from));
+        }
+        addPawnMoves(moves, occupancy, capturesOnly);
+        if (checkers == 0 && !capturesOnly) {
+            addCastlingMove(moves, occupancy, true);
+            addCastlingMove(moves, occupancy, false);
+        }
+    }
+
+    /**
+     * Checks if the player has at least one legal move, testing the target
+     * squares of each piece in turn and stopping at the first piece with one,
+     * without generating any move.
+     *
+     * @return true if a legal move exists, false otherwise
+     */
+    public boolean hasLegalMove() {
+        long allowed = ~board.getOccupancy(color);
+        for (long bits = LeaperAttacks.kingAttacks(kingSquare) & allowed; bits != 0; bits &= bits - 1) {
+            if (isSafeKingSquare(Long.numberOfTrailingZeros(bits))) {
+                return true;
+            }
+        }
+        // Only the king can escape a double check
+        if (Long.bitCount(checkers) > 1) {
+            return false;
+        }
+
+        long targets = allowed & checkMask;
+        long occupancy = board.getOccupancy();
+        long queens = board.getBitboard(PieceType.QUEEN, color);
+        for (long bits = board.getBitboard(PieceType.KNIGHT, color) & ~pinned; bits != 0; bits &= bits - 1) {
+            if ((LeaperAttacks.knightAttacks(Long.numberOfTrailingZeros(bits)) & targets) != 0) {
+                return true;
+            }
+        }
+        for (long bits = board.getBitboard(PieceType.BISHOP, color) | queens; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            if ((SlidingAttacks.bishopAttacks(from, occupancy) & targets & pinMask(from)) != 0) {
+                return true;
+            }
+        }
+        for (long bits = board.getBitboard(PieceType.ROOK, color) | queens; bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            if ((SlidingAttacks.rookAttacks(from, occupancy) & targets & pinMask(from)) != 0) {
+                return true;
+            }
+        }
+        // Castling needs a free king move to be legal, so it never is the only move
+        return hasPawnMove(occupancy);
+    }
+
+    /**
+     * Checks if a move generated by {@link ChessPiece#getPossibleMoves} is legal
+     * for the player.
+     *
+     * @param move the move to check, can be null
+     * @return true if the move is legal, false otherwise
+     */
+    public boolean isLegal(ChessMove move) {
+        if (move == null || move.getFromPiece().getColor() != color) {
+            return false;
+        }
+        int from = Bitboards.square(move.getFrom());
+        int to = Bitboards.square(move.getTo());
+        if (from == kingSquare) {
+            // Castling checks its own path, which includes not being in check
+            return Math.abs(move.getTo().x() - move.getFrom().x()) == 2 || isSafeKingSquare(to);
+        }
+        if (move instanceof EnPassant) {
+            return isLegalEnPassant(from, to);
+        }
+        long toBit = Bitboards.bit(to);
+        return (checkMask & toBit) != 0 && (pinMask(from) & toBit) != 0;
+    }
+
+    /**
+     * Adds the moves of a piece towards the given target squares.
+     *
+     * @param moves   the list receiving the packed moves
+     * @param from    the square index of the piece
+     * @param targets the bitboard of the legal target squares
+     */
+    private void addPieceMoves(MoveList moves, int from, long targets) {
+        long opponents = board.getOccupancy(opponent);
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            int to = Long.numberOfTrailingZeros(bits);
+            int flag = (opponents & Bitboards.bit(to)) != 0 ? PackedMove.CAPTURE : PackedMove.QUIET;
+            moves.add(PackedMove.encode(from, to, flag));
+        }
+    }
+
+    /**
+     * Adds the king moves to squares that are not attacked.
+     *
+     * @param moves   the list receiving the packed moves
+     * @param allowed the bitboard of the squares the king may move to, if they
+     *                are not attacked
+     */
+    private void addKingMoves(MoveList moves, long allowed) {
+        long targets = LeaperAttacks.kingAttacks(kingSquare) & allowed;
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            int to = Long.numberOfTrailingZeros(bits);
+            if (!isSafeKingSquare(to)) {
+                targets &= ~Bitboards.bit(to);
+            }
+        }
+        addPieceMoves(moves, kingSquare, targets);
+    }
+
+    /**
+     * Adds the pawn pushes, captures, promotions and en passant captures.
+     *
+     * @param moves        the list receiving the packed moves
+     * @param occupancy    the occupancy of the board
+     * @param capturesOnly true to only add the captures and promotions
+     */
+    private void addPawnMoves(MoveList moves, long occupancy, boolean capturesOnly) {
+        boolean white = color == PlayerColor.WHITE;
+        int step = white ? BOARD_SIZE : -BOARD_SIZE;
+        long startRank = white ? WHITE_PAWN_RANK : BLACK_PAWN_RANK;
+        long opponents = board.getOccupancy(opponent);
+        int enPassantSquare = board.getGameState().enPassantSquare();
+
+        for (long bits = board.getBitboard(PieceType.PAWN, color); bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            long mask = checkMask & pinMask(from);
+
+            int oneSquare = from + step;
+            boolean promotion = ((FIRST_RANK | LAST_RANK) & Bitboards.bit(oneSquare)) != 0;
+            if ((occupancy & Bitboards.bit(oneSquare)) == 0 && (promotion || !capturesOnly)) {
+                if ((mask & Bitboards.bit(oneSquare)) != 0) {
+                    addPawnMove(moves, from, oneSquare, false);
+                }
+                int twoSquares = oneSquare + step;
+                if (!promotion && (startRank & Bitboards.bit(from)) != 0 && (occupancy & Bitboards.bit(twoSquares)) == 0
+                        && (mask & Bitboards.bit(twoSquares)) != 0) {
+                    moves.add(PackedMove.encode(from, twoSquares, PackedMove.DOUBLE_PAWN_PUSH));
+                }
+            }
+
+            long attacks = LeaperAttacks.pawnAttacks(color, from);
+            for (long captures = attacks & opponents & mask; captures != 0; captures &= captures - 1) {
+                addPawnMove(moves, from, Long.numberOfTrailingZeros(captures), true);
+            }
+            if (enPassantSquare >= 0 && (attacks & Bitboards.bit(enPassantSquare)) != 0
+                    && isLegalEnPassant(from, enPassantSquare)) {
+                moves.add(PackedMove.encode(from, enPassantSquare, PackedMove.EN_PASSANT));
+            }
+        }
+    }
+
+    /**
+     * Checks if a pawn has a legal push, capture or en passant capture.
+     *
+     * @param occupancy the occupancy of the board
+     * @return true if a pawn move exists, false otherwise
+     */
+    private boolean hasPawnMove(long occupancy) {
+        int step = color == PlayerColor.WHITE ? BOARD_SIZE : -BOARD_SIZE;
+        long startRank = color == PlayerColor.WHITE ? WHITE_PAWN_RANK : BLACK_PAWN_RANK;
+        long opponents = board.getOccupancy(opponent);
+        int enPassantSquare = board.getGameState().enPassantSquare();
+
+        for (long bits = board.getBitboard(PieceType.PAWN, color); bits != 0; bits &= bits - 1) {
+            int from = Long.numberOfTrailingZeros(bits);
+            long mask = checkMask & pinMask(from);
+            int oneSquare = from + step;
+            if ((occupancy & Bitboards.bit(oneSquare)) == 0) {
+                int twoSquares = oneSquare + step;
+                if ((mask & Bitboards.bit(oneSquare)) != 0 || (startRank & Bitboards.bit(from)) != 0
+                        && (occupancy & Bitboards.bit(twoSquares)) == 0 && (mask & Bitboards.bit(twoSquares)) != 0) {
+                    return true;
+                }
+            }
+            long attacks = LeaperAttacks.pawnAttacks(color, from);
+            if ((attacks & opponents & mask) != 0 || enPassantSquare >= 0
+                    && (attacks & Bitboards.bit(enPassantSquare)) != 0 && isLegalEnPassant(from, enPassantSquare)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a pawn push or capture, as one promotion per piece type when it reaches
+     * the last rank.
+     *
+     * @param moves   the list receiving the packed moves
+     * @param from    the square index of the pawn
+     * @param to      the destination square index
+     * @param capture true if the move captures a piece
+     */
+    private static void addPawnMove(MoveList moves, int from, int to, boolean capture) {
+        if (((FIRST_RANK | LAST_RANK) & Bitboards.bit(to)) != 0) {
+            int flag = capture ? PackedMove.PROMOTION_CAPTURE : PackedMove.PROMOTION;
+            for (PieceType type : PromotableChessPiece.TYPES) {
+                moves.add(PackedMove.encode(from, to, flag, type));
+            }
+        } else {
+            moves.add(PackedMove.encode(from, to, capture ? PackedMove.CAPTURE : PackedMove.QUIET));
+        }
+    }
+
+    /**
+     * Adds a castling move if the player holds the right, the squares between the
+     * king and the rook are empty and the squares the king crosses are safe.
+     * The king must not be in check.
+     *
+     * @param moves     the list receiving the packed moves
+     * @param occupancy the occupancy of the board
+     * @param kingSide  true for short castling, false for long castling
+     */
+    private void addCastlingMove(MoveList moves, long occupancy, boolean kingSide) {
+        if (!board.getGameState().hasCastlingRight(color, kingSide)) {
+            return;
+        }
+        int rookSquare = kingSide ? kingSquare + 3 : kingSquare - 4;
+        int direction = kingSide ? 1 : -1;
+        if ((SlidingAttacks.between(kingSquare, rookSquare) & occupancy) != 0
+                || SquareAttacks.isAttacked(board, kingSquare + direction, color, null)
+                || SquareAttacks.isAttacked(board, kingSquare + 2 * direction, color, null)) {
+            return;
+        }
+        int flag = kingSide ? PackedMove.SHORT_CASTLING : PackedMove.LONG_CASTLING;
+        moves.add(PackedMove.encode(kingSquare, kingSquare + 2 * direction, flag));
+    }
+
+    /**
+     * Checks if the king can move to a square, considering that the king does not
+     * block the sliding pieces attacking it anymore.
+     *
+     * @param square the destination square index
+     * @return true if the square is not attacked, false otherwise
+     */
+    private boolean isSafeKingSquare(int square) {
+        long occupancy = board.getOccupancy() & ~Bitboards.bit(kingSquare);
+        return SquareAttacks.attackers(board, square, opponent, occupancy) == 0;
+    }
+
+    /**
+     * Checks if an en passant capture leaves the king safe. The capture removes two
+     * pieces from the same rank, which can reveal an attack no pin covers, so the
+     * attackers are recomputed with the occupancy after the capture.
+     *
+     * @param from the square index of the capturing pawn
+     * @param to   the en passant target square index
+     * @return true if the capture is legal, false otherwise
+     */
+    private boolean isLegalEnPassant(int from, int to) {
+        long captured = Bitboards.bit(to + (color == PlayerColor.WHITE ? -BOARD_SIZE : BOARD_SIZE));
+        long occupancy = (board.getOccupancy() & ~Bitboards.bit(from) & ~captured) | Bitboards.bit(to);
+        return (SquareAttacks.attackers(board, kingSquare, opponent, occupancy) & ~captured) == 0;
+    }
+
+    /**
+     * Gets the squares a piece can move to without exposing the king, which is
+     * its pin ray if the piece is pinned.
+     *
+     * @param square the square index of the piece
+     * @return the pin mask, every square if the piece is not pinned
+     */
+    private long pinMask(int square) {
+        return (pinned & Bitboards.bit(square)) != 0 ? pinRays[square] : ~0L;
+    }
+
+    /**
+     * Computes the squares a non-king piece can move to without leaving the king
+     * in check: every square when not in check, the checking piece and the squares
+     * between it and the king when in single check, none when in double check.
+     *
+     * @return the check mask
+     */
+    private long computeCheckMask() {
+        if (checkers == 0) {
+            return ~0L;
+        }
+        if (Long.bitCount(checkers) > 1) {
+            return 0L;
+        }
+        return checkers | SlidingAttacks.between(kingSquare, Long.numberOfTrailingZeros(checkers));
+    }
+
+    /**
+     * Computes the pieces pinned against the king, and for each of them the ray
+     * it can move along (up to and including the pinning piece).
+     *
+     * @return the bitboard of the pinned pieces
+     */
+    private long computePins() {
+        long own = board.getOccupancy(color);
+        long opponents = board.getOccupancy(opponent);
+        long queens = board.getBitboard(PieceType.QUEEN, opponent);
+        // Enemy sliders seeing the king through the player's pieces only
+        long pinners = (SlidingAttacks.rookAttacks(kingSquare, opponents)
+                & (board.getBitboard(PieceType.ROOK, opponent) | queens))
+                | (SlidingAttacks.bishopAttacks(kingSquare, opponents)
+                & (board.getBitboard(PieceType.BISHOP, opponent) | queens));
+
+        long pinnedPieces = 0L;
+        for (; pinners != 0; pinners &= pinners - 1) {
+            int pinner = Long.numberOfTrailingZeros(pinners);
+            long between = SlidingAttacks.between(kingSquare, pinner);
+            long blockers = between & own;
+            if (Long.bitCount(blockers) == 1 && (between & opponents) == 0) {
+                pinnedPieces |= blockers;
+                pinRays[Long.numberOfTrailingZeros(blockers)] = between | Bitboards.bit(pinner);
+            }
+        }
+        return pinnedPieces;
+    }
+}
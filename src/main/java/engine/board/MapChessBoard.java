@@ -0,0 +1,169 @@
+package engine.board;
+
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.piece.ChessPiece;
+import engine.piece.Position;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chessboard implementation storing its pieces in a map indexed by position.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class MapChessBoard extends ChessBoard {
+    private Map<Position, ChessPiece> pieces = new HashMap<>();
+    private Map<PlayerColor, Position> kings = new HashMap<>();
+
+    /**
+     * Retrieves the chess piece at the specified position.
+     *
+     * @param pos the position on the chessboard
+     * @return the {@link ChessPiece} at the specified position, or null if empty
+     */
+    @Override
+    public ChessPiece get(Position pos) {
+        return pieces.get(pos);
+    }
+
+    /**
+     * Checks if a given position contains a chess piece.
+     *
+     * @param pos the position to check
+     * @return true if a piece exists at the given position, false otherwise
+     */
+    @Override
+    public boolean containsKey(Position pos) {
+        return pieces.containsKey(pos);
+    }
+
+    /**
+     * Places a chess piece at the specified position in the map.
+     * Tracks the position of kings.
+     *
+     * @param pos   the position to place the piece
+     * @param piece the {@link ChessPiece} to place
+     */
+    @Override
+    protected void placePiece(Position pos, ChessPiece piece) {
+        pieces.put(pos, piece);
+        if (piece.getType() == PieceType.KING) {
+            kings.put(piece.getColor(), pos);
+        }
+    }
+
+    /**
+     * Removes a chess piece from the specified position in the map.
+     *
+     * @param pos the position to remove the piece from
+     * @return the removed {@link ChessPiece}
+     * @throws IllegalStateException if no piece exit at the position
+     */
+    @Override
+    protected ChessPiece removePiece(Position pos) {
+        ChessPiece piece = pieces.remove(pos);
+        if (piece == null) {
+            throw new IllegalStateException("No piece exits at " + pos);
+        }
+        return piece;
+    }
+
+    /**
+     * Clears all pieces from the storage.
+     */
+    @Override
+    protected void clearPieces() {
+        pieces.clear();
+    }
+
+    /**
+     * Get all the chessboard pieces
+     *
+     * @return a map of the positions its piece
+     */
+    @Override
+    public Map<Position, ChessPiece> getPieces() {
+        return Collections.unmodifiableMap(pieces);
+    }
+
+    /**
+     * Gets the bitboard of the pieces of the given type and color, computed from
+     * the map.
+     *
+     * @param type  the type of the pieces
+     * @param color the color of the pieces
+     * @return the bitboard of the pieces
+     */
+    @Override
+    public long getBitboard(PieceType type, PlayerColor color) {
+        long bitboard = 0L;
+        for (Map.Entry<Position, ChessPiece> entry : pieces.entrySet()) {
+            ChessPiece piece = entry.getValue();
+            if (piece.getType() == type && piece.getColor() == color) {
+                bitboard |= Bitboards.bit(Bitboards.square(entry.getKey()));
+            }
+        }
+        return bitboard;
+    }
+
+    /**
+     * Gets the bitboard of all the pieces of the given color, computed from the
+     * map.
+     *
+     * @param color the color of the pieces
+     * @return the occupancy bitboard of the color
+     */
+    @Override
+    public long getOccupancy(PlayerColor color) {
+        long bitboard = 0L;
+        for (Map.Entry<Position, ChessPiece> entry : pieces.entrySet()) {
+            if (entry.getValue().getColor() == color) {
+                bitboard |= Bitboards.bit(Bitboards.square(entry.getKey()));
+            }
+        }
+        return bitboard;
+    }
+
+    /**
+     * Gets the bitboard of all the pieces on the board, computed from the map.
+     *
+     * @return the occupancy bitboard
+     */
+    @Override
+    public long getOccupancy() {
+        long bitboard = 0L;
+        for (Position pos : pieces.keySet()) {
+            bitboard |= Bitboards.bit(Bitboards.square(pos));
+        }
+        return bitboard;
+    }
+
+    /**
+     * Gets the position of the king of the given color.
+     *
+     * @param color the color of the king
+     * @return the position of the king, or null if there is none
+     */
+    @Override
+    Position getKingPosition(PlayerColor color) {
+        return kings.get(color);
+    }
+
+    /**
+     * Creates a clone of this chessboard. The maps are copied, the pieces are
+     * shared.
+     *
+     * @return a new {@link MapChessBoard} instance identical to this one
+     */
+    @Override
+    public MapChessBoard clone() {
+        MapChessBoard clonedBoard = (MapChessBoard) super.clone();
+        clonedBoard.pieces = new HashMap<>(pieces);
+        clonedBoard.kings = new HashMap<>(kings);
+        return clonedBoard;
+    }
+}
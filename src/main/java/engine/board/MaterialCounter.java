@@ -2,164 +2,97 @@ package engine.board;
 
 import chess.PieceType;
 import chess.PlayerColor;
-import engine.piece.ChessPiece;
-import engine.piece.Position;
-
-import java.util.Map;
 
 /**
- * Helper class to handle material counting and insufficient material detection.
+ * Helper class to handle insufficient material detection, based on the piece
+ * counts maintained by the {@link ChessBoard}.
+ * Positions with a pawn, a rook or a queen always have sufficient material.
+ * Otherwise, the knights and bishops of both sides form a material signature
+ * looked up in a precomputed table, except that any number of bishops all
+ * standing on squares of the same color can never checkmate.
  *
  * @author Leonard Cseres
  * @author Aladin Iseni
  */
-final class MaterialCounter {
-    private final ChessBoardReader board;
-    private final PieceCount whiteCount;
-    private final PieceCount blackCount;
-
-    /**
-     * Constructs a MaterialCounter to analyze the material on the given chess board.
-     *
-     * @param board the chess board to analyze
-     */
-    MaterialCounter(ChessBoardReader board) {
-        this.board = board;
-        PieceCount[] counts = countPieces();
-        this.whiteCount = counts[0];
-        this.blackCount = counts[1];
+abstract class MaterialCounter {
+    // Minor piece counts are clamped to 3, more than two of a kind is never a draw
+    private static final int COUNT_RANGE = 4;
+    private static final boolean[] INSUFFICIENT_SIGNATURES =
+            new boolean[COUNT_RANGE * COUNT_RANGE * COUNT_RANGE * COUNT_RANGE];
+
+    static {
+        // King vs king
+        markInsufficient(0, 0, 0, 0);
+        // King and a minor piece vs king
+        markInsufficient(1, 0, 0, 0);
+        markInsufficient(0, 1, 0, 0);
+        // King and two knights vs king, which cannot force a checkmate
+        markInsufficient(2, 0, 0, 0);
     }
 
     /**
      * Checks if the game is a draw due to insufficient material.
-     * Considers scenarios such as King vs King, King and minor piece vs King,
-     * and King with a bishop vs King with a bishop on same-colored squares.
+     * Handles K vs K, K+minor vs K, K+N+N vs K and positions where every bishop
+     * stands on the same square color without any other piece.
      *
+     * @param board the chess board to analyze
      * @return true if the game is a draw due to insufficient material, false otherwise
      */
-    boolean isInsufficientMaterial() {
-        return isKingVsKing() || isKingAndMinorPieceVsKing() || isKingAndBishopVsKingAndBishop();
-    }
-
-    /**
-     * Checks if the board represents a King vs King scenario.
-     *
-     * @return true if only kings remain, false otherwise
-     */
-    private boolean isKingVsKing() {
-        return whiteCount.total == 1 && blackCount.total == 1;
-    }
-
-    /**
-     * Checks if the board represents a King and one minor piece vs King scenario.
-     *
-     * @return true if one side has a king and a single minor piece, and the other side has only a king
-     */
-    private boolean isKingAndMinorPieceVsKing() {
-        return (whiteCount.isKingPlusOneMinorPiece() && blackCount.isKingOnly()) ||
-                (blackCount.isKingPlusOneMinorPiece() && whiteCount.isKingOnly());
-    }
-
-    /**
-     * Checks if the board represents a King and Bishop vs King and Bishop scenario
-     * where the bishops are on same-colored squares.
-     *
-     * @return true if both sides have a King and Bishop, and the bishops are on the same color
-     */
-    private boolean isKingAndBishopVsKingAndBishop() {
-        return whiteCount.isKingAndBishop() && blackCount.isKingAndBishop() &&
-                areBishopsOnSameColoredSquares();
-    }
-
-    /**
-     * Determines if the bishops on both sides are on the same-colored squares.
-     *
-     * @return true if bishops are on the same color, false otherwise
-     */
-    private boolean areBishopsOnSameColoredSquares() {
-        Position whiteBishop = findBishopPosition(PlayerColor.WHITE);
-        Position blackBishop = findBishopPosition(PlayerColor.BLACK);
-        return whiteBishop != null && blackBishop != null &&
-                whiteBishop.getColor() == blackBishop.getColor();
+    static boolean isInsufficientMaterial(ChessBoard board) {
+        for (PlayerColor color : PlayerColor.values()) {
+            if (board.getPieceCount(PieceType.PAWN, color) > 0 || board.getPieceCount(PieceType.ROOK, color) > 0
+                    || board.getPieceCount(PieceType.QUEEN, color) > 0) {
+                return false;
+            }
+        }
+        int whiteKnights = board.getPieceCount(PieceType.KNIGHT, PlayerColor.WHITE);
+        int blackKnights = board.getPieceCount(PieceType.KNIGHT, PlayerColor.BLACK);
+        if (whiteKnights + blackKnights == 0
+                && (board.getBishopCount(PlayerColor.WHITE) == 0 || board.getBishopCount(PlayerColor.BLACK) == 0)) {
+            return true;
+        }
+        return INSUFFICIENT_SIGNATURES[signature(whiteKnights,
+                board.getPieceCount(PieceType.BISHOP, PlayerColor.WHITE),
+                blackKnights,
+                board.getPieceCount(PieceType.BISHOP, PlayerColor.BLACK))];
     }
 
     /**
-     * Finds the position of a bishop for the given player color.
+     * Marks a signature and its color-swapped counterpart as insufficient.
      *
-     * @param color the color of the player to find the bishop for
-     * @return the position of the bishop, or null if none exists
+     * @param knights         the knights of one side
+     * @param bishops         the bishops of one side
+     * @param opponentKnights the knights of the other side
+     * @param opponentBishops the bishops of the other side
      */
-    private Position findBishopPosition(PlayerColor color) {
-        return board.getPieces().entrySet().stream()
-                .filter(entry -> isBishopOfColor(entry.getValue(), color))
-                .map(Map.Entry::getKey)
-                .findFirst()
-                .orElse(null);
+    private static void markInsufficient(int knights, int bishops, int opponentKnights, int opponentBishops) {
+        INSUFFICIENT_SIGNATURES[signature(knights, bishops, opponentKnights, opponentBishops)] = true;
+        INSUFFICIENT_SIGNATURES[signature(opponentKnights, opponentBishops, knights, bishops)] = true;
     }
 
     /**
-     * Checks if the given piece is a bishop of the specified color.
+     * Computes the index of a minor piece signature in the table.
      *
-     * @param piece the chess piece to check
-     * @param color the color to match
-     * @return true if the piece is a bishop of the specified color, false otherwise
+     * @param whiteKnights the white knights
+     * @param whiteBishops the white bishops
+     * @param blackKnights the black knights
+     * @param blackBishops the black bishops
+     * @return the index of the signature
      */
-    private boolean isBishopOfColor(ChessPiece piece, PlayerColor color) {
-        return piece.getType() == PieceType.BISHOP && piece.getColor() == color;
+    private static int signature(int whiteKnights, int whiteBishops, int blackKnights, int blackBishops) {
+        int index = clamp(whiteKnights);
+        index = index * COUNT_RANGE + clamp(whiteBishops);
+        index = index * COUNT_RANGE + clamp(blackKnights);
+        return index * COUNT_RANGE + clamp(blackBishops);
     }
 
     /**
-     * Counts the total pieces and bishops for both players on the board.
+     * Clamps a piece count to the range of the signature table.
      *
-     * @return an array containing the piece counts for white [0] and black [1]
+     * @param count the piece count
+     * @return the clamped count
      */
-    private PieceCount[] countPieces() {
-        PieceCount white = new PieceCount();
-        PieceCount black = new PieceCount();
-
-        board.getPieces().values().forEach(piece -> {
-            PieceCount count = (piece.getColor() == PlayerColor.WHITE) ? white : black;
-            count.total++;
-            if (piece.getType() == PieceType.BISHOP) {
-                count.bishops++;
-            }
-        });
-
-        return new PieceCount[]{white, black};
-    }
-
-    /**
-     * Helper class to track piece counts for each player.
-     */
-    private static final class PieceCount {
-        private int total = 0;
-        private int bishops = 0;
-
-        /**
-         * Checks if only a king remains.
-         *
-         * @return true if only a king is present, false otherwise
-         */
-        private boolean isKingOnly() {
-            return total == 1;
-        }
-
-        /**
-         * Checks if the player has exactly a king and a single bishop.
-         *
-         * @return true if the player has a king and a bishop, false otherwise
-         */
-        private boolean isKingAndBishop() {
-            return total == 2 && bishops == 1;
-        }
-
-        /**
-         * Checks if the player has a king and one minor piece (bishop or knight).
-         *
-         * @return true if the player has a king and one minor piece, false otherwise
-         */
-        private boolean isKingPlusOneMinorPiece() {
-            return total == 2;
-        }
+    private static int clamp(int count) {
+        return Math.min(count, COUNT_RANGE - 1);
     }
-}
\ No newline at end of file
+}
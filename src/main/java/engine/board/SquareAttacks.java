@@ -0,0 +1,62 @@
+package engine.board;
+
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.generator.LeaperAttacks;
+import engine.generator.SlidingAttacks;
+
+/**
+ * Utility class answering attack queries by looking outwards from the target
+ * square: a square is attacked by a knight if a knight stands a knight jump
+ * away, by a rook if a rook stands on one of its straight rays, and so on.
+ * This costs a handful of table lookups instead of generating the moves of the
+ * whole opponent army.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public abstract class SquareAttacks {
+    /**
+     * Gets the pieces of the attacking color attacking a square.
+     *
+     * @param board     the current state of the chessboard
+     * @param square    the square index of the attacked square
+     * @param attacker  the color of the attacking pieces
+     * @param occupancy the occupancy used to block the sliding pieces, which may
+     *                  differ from the board occupancy (e.g. without the king
+     *                  moving away from a slider)
+     * @return the bitboard of the attacking pieces
+     */
+    public static long attackers(ChessBoardReader board, int square, PlayerColor attacker, long occupancy) {
+        PlayerColor defender = attacker == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+        long queens = board.getBitboard(PieceType.QUEEN, attacker);
+        long straightSliders = board.getBitboard(PieceType.ROOK, attacker) | queens;
+        long diagonalSliders = board.getBitboard(PieceType.BISHOP, attacker) | queens;
+        // A pawn attacks the square if the square would attack it as a pawn of the other color
+        return (LeaperAttacks.pawnAttacks(defender, square) & board.getBitboard(PieceType.PAWN, attacker))
+                | (LeaperAttacks.knightAttacks(square) & board.getBitboard(PieceType.KNIGHT, attacker))
+                | (LeaperAttacks.kingAttacks(square) & board.getBitboard(PieceType.KING, attacker))
+                | (SlidingAttacks.rookAttacks(square, occupancy) & straightSliders)
+                | (SlidingAttacks.bishopAttacks(square, occupancy) & diagonalSliders);
+    }
+
+    /**
+     * Checks if a square is attacked by any opponent of the given color.
+     *
+     * @param board    the current state of the chessboard
+     * @param square   the square index to check
+     * @param defender the color of the defending side, the attackers are its
+     *                 opponents
+     * @param ignore   the piece type to ignore, can be set to null to check all
+     *                 piece types
+     * @return true if the square is attacked, false otherwise
+     */
+    public static boolean isAttacked(ChessBoardReader board, int square, PlayerColor defender, PieceType ignore) {
+        PlayerColor attacker = defender == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+        long attackers = attackers(board, square, attacker, board.getOccupancy());
+        if (ignore != null) {
+            attackers &= ~board.getBitboard(ignore, attacker);
+        }
+        return attackers != 0;
+    }
+}
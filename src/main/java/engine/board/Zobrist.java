@@ -0,0 +1,119 @@
+package engine.board;
+
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.generator.LeaperAttacks;
+import engine.piece.ChessPiece;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys used to compute the Zobrist hash of a chessboard.
+ * The hash of a position is the XOR of the keys of every piece on its square,
+ * of the castling rights, of the en passant file and of the side to move, such
+ * that it can be updated incrementally.
+ * The en passant file is only hashed when a pawn of the side to move can
+ * actually capture en passant, such that positions differing only by an
+ * unusable en passant square share their key and count as repetitions.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+abstract class Zobrist {
+    private static final long SEED = 0x5EED_C4E5_5L;
+    private static final int CASTLING_RIGHTS_COMBINATIONS = 16;
+    private static final int FILES = 8;
+
+    private static final long[][] PIECES = new long[Bitboards.PIECE_KINDS][Bitboards.SQUARES];
+    private static final long[] CASTLING_RIGHTS = new long[CASTLING_RIGHTS_COMBINATIONS];
+    private static final long[] EN_PASSANT_FILES = new long[FILES];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] squares : PIECES) {
+            for (int square = 0; square < squares.length; square++) {
+                squares[square] = random.nextLong();
+            }
+        }
+        // No castling rights is hashed as 0 such that an empty board has a null key
+        for (int rights = 1; rights < CASTLING_RIGHTS.length; rights++) {
+            CASTLING_RIGHTS[rights] = random.nextLong();
+        }
+        for (int file = 0; file < FILES; file++) {
+            EN_PASSANT_FILES[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    /**
+     * The key of {@link GameState#EMPTY}, which has no en passant square and
+     * thus does not depend on the board.
+     */
+    static final long EMPTY_GAME_STATE = sideToMove(GameState.EMPTY.sideToMove())
+            ^ castlingRights(GameState.EMPTY.castlingRights());
+
+    /**
+     * Gets the key of a piece standing on a square.
+     *
+     * @param piece  the chess piece
+     * @param square the square index of the piece
+     * @return the key of the piece on the square
+     */
+    static long piece(ChessPiece piece, int square) {
+        return PIECES[Bitboards.pieceKind(piece.getType(), piece.getColor())][square];
+    }
+
+    /**
+     * Gets the key of a set of castling rights.
+     *
+     * @param rights the castling rights bit set
+     * @return the key of the castling rights
+     */
+    static long castlingRights(int rights) {
+        return CASTLING_RIGHTS[rights];
+    }
+
+    /**
+     * Gets the key of an en passant file.
+     *
+     * @param file the file (x-coordinate) of the pawn that can be captured
+     * @return the key of the en passant file
+     */
+    static long enPassantFile(int file) {
+        return EN_PASSANT_FILES[file];
+    }
+
+    /**
+     * Gets the key of a game state, combining the keys of its side to move,
+     * castling rights and en passant file, the latter only if a pawn of the side
+     * to move attacks the en passant square.
+     *
+     * @param state the game state
+     * @param board the board holding the pawns of the side to move
+     * @return the key of the game state
+     */
+    static long gameState(GameState state, ChessBoardReader board) {
+        long key = sideToMove(state.sideToMove()) ^ castlingRights(state.castlingRights());
+        int square = state.enPassantSquare();
+        if (square != GameState.NO_EN_PASSANT) {
+            PlayerColor color = state.sideToMove();
+            PlayerColor opponent = color == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+            // The pawns attacking a square stand where an opponent pawn on it would attack
+            if ((LeaperAttacks.pawnAttacks(opponent, square) & board.getBitboard(PieceType.PAWN, color)) != 0) {
+                key ^= enPassantFile(Bitboards.position(square).x());
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Gets the key of the side to move.
+     *
+     * @param color the side to move
+     * @return the key of the side to move, 0 for white
+     */
+    static long sideToMove(PlayerColor color) {
+        return color == PlayerColor.BLACK ? BLACK_TO_MOVE : 0L;
+    }
+}
@@ -0,0 +1,42 @@
+package engine.generator;
+
+import engine.board.Bitboards;
+import engine.board.ChessBoardReader;
+import engine.move.Moves;
+import engine.piece.ChessPiece;
+import engine.piece.Position;
+
+/**
+ * Generates the one square moves of a king piece on the chessboard, looked up in
+ * the {@link LeaperAttacks} tables.
+ * Castling is handled by the king itself.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class KingGenerator extends MoveGenerator {
+    /**
+     * The shared instance of the generator.
+     */
+    public static final KingGenerator INSTANCE = new KingGenerator();
+
+    /**
+     * Use the shared {@link #INSTANCE}.
+     */
+    private KingGenerator() {
+    }
+
+    /**
+     * Generates all one square moves of the king at a specified position
+     *
+     * @param board the current state of the chessboard
+     * @param from  the position of the piece on the board
+     * @param piece the piece to generate the moves of
+     * @return a collection of possible moves
+     */
+    @Override
+    public Moves generate(ChessBoardReader board, Position from, ChessPiece piece) {
+        long attacks = LeaperAttacks.kingAttacks(Bitboards.square(from));
+        return createMoves(board, from, piece, attacks & ~board.getOccupancy(piece.getColor()));
+    }
+}
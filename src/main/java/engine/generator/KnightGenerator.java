@@ -1,9 +1,8 @@
 package engine.generator;
 
+import engine.board.Bitboards;
 import engine.board.ChessBoardReader;
-import engine.move.Capture;
 import engine.move.Moves;
-import engine.move.StandardMove;
 import engine.piece.ChessPiece;
 import engine.piece.Position;
 
@@ -11,45 +10,36 @@ import engine.piece.Position;
  * Generates possible moves for a knight piece on the chessboard.
  * The knight moves in an "L" shape: two squares in one direction and one square
  * perpendicular to that.
- * It can jump over other pieces.
+ * It can jump over other pieces, so its moves are looked up in the
+ * {@link LeaperAttacks} tables.
  *
  * @author Leonard Cseres
  * @author Aladin Iseni
  */
 public final class KnightGenerator extends MoveGenerator {
-    // Possible moves for a knight (8 directions)
-    private static final int[][] KNIGHT_MOVES = {
-            {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
-            {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
-    };
+    /**
+     * The shared instance of the generator.
+     */
+    public static final KnightGenerator INSTANCE = new KnightGenerator();
+
+    /**
+     * Use the shared {@link #INSTANCE}.
+     */
+    private KnightGenerator() {
+    }
 
     /**
      * Generates all possible moves the knight at a specified position
      *
      * @param board the current state of the chessboard
      * @param from  the position of the piece on the board
+     * @param piece the piece to generate the moves of
      * @return a collection of possible moves
      */
     @Override
-    public Moves generate(ChessBoardReader board, Position from) {
-        Moves moves = new Moves();
-        ChessPiece piece = board.get(from);
-
-        // Evaluate each possible knight move
-        for (int[] move : KNIGHT_MOVES) {
-            Position to = from.add(new Position(move[0], move[1]));
-
-            // If the move is valid and the destination is either empty or occupied by an
-            // opponent
-            if (to.isValid()) {
-                if (!board.containsKey(to)) {
-                    moves.addMove(new StandardMove(from, to, piece));
-                } else if (board.get(to).isOpponent(piece)) {
-                    moves.addMove(new Capture(from, to, piece));
-                }
-            }
-        }
-
-        return moves;
+    public Moves generate(ChessBoardReader board, Position from, ChessPiece piece) {
+        long attacks = LeaperAttacks.knightAttacks(Bitboards.square(from));
+        // The destination is either empty or occupied by an opponent
+        return createMoves(board, from, piece, attacks & ~board.getOccupancy(piece.getColor()));
     }
 }
@@ -0,0 +1,88 @@
+package engine.generator;
+
+import chess.PlayerColor;
+import engine.board.Bitboards;
+
+/**
+ * Precomputed attack tables for leaping pieces (knight, king and pawn
+ * captures), giving the attacked squares of a piece in constant time.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public abstract class LeaperAttacks {
+    private static final int BOARD_SIZE = 8;
+    private static final int[][] KNIGHT_OFFSETS = {
+            {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
+            {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
+    };
+    private static final int[][] KING_OFFSETS = {
+            {0, 1}, {0, -1}, {-1, 0}, {1, 0},
+            {-1, 1}, {1, 1}, {-1, -1}, {1, -1}
+    };
+    private static final int[][] WHITE_PAWN_OFFSETS = {{-1, 1}, {1, 1}};
+    private static final int[][] BLACK_PAWN_OFFSETS = {{-1, -1}, {1, -1}};
+
+    private static final long[] KNIGHT_ATTACKS = new long[Bitboards.SQUARES];
+    private static final long[] KING_ATTACKS = new long[Bitboards.SQUARES];
+    private static final long[][] PAWN_ATTACKS = new long[PlayerColor.values().length][Bitboards.SQUARES];
+
+    static {
+        for (int square = 0; square < Bitboards.SQUARES; square++) {
+            KNIGHT_ATTACKS[square] = offsetAttacks(square, KNIGHT_OFFSETS);
+            KING_ATTACKS[square] = offsetAttacks(square, KING_OFFSETS);
+            PAWN_ATTACKS[PlayerColor.WHITE.ordinal()][square] = offsetAttacks(square, WHITE_PAWN_OFFSETS);
+            PAWN_ATTACKS[PlayerColor.BLACK.ordinal()][square] = offsetAttacks(square, BLACK_PAWN_OFFSETS);
+        }
+    }
+
+    /**
+     * Gets the squares attacked by a knight.
+     *
+     * @param square the square index of the knight
+     * @return the bitboard of the attacked squares
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Gets the squares attacked by a king.
+     *
+     * @param square the square index of the king
+     * @return the bitboard of the attacked squares
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Gets the squares attacked (diagonally forwards) by a pawn.
+     *
+     * @param color  the color of the pawn
+     * @param square the square index of the pawn
+     * @return the bitboard of the attacked squares
+     */
+    public static long pawnAttacks(PlayerColor color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    /**
+     * Computes the squares reached from a square with the given offsets.
+     *
+     * @param square  the square index
+     * @param offsets the (dx, dy) offsets
+     * @return the bitboard of the reached squares on the board
+     */
+    private static long offsetAttacks(int square, int[][] offsets) {
+        long attacks = 0L;
+        for (int[] offset : offsets) {
+            int x = square % BOARD_SIZE + offset[0];
+            int y = square / BOARD_SIZE + offset[1];
+            if (x >= 0 && y >= 0 && x < BOARD_SIZE && y < BOARD_SIZE) {
+                attacks |= Bitboards.bit(y * BOARD_SIZE + x);
+            }
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,90 @@
+package engine.generator;
+
+import engine.board.Bitboards;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Offline generator of the magic numbers of {@link SlidingAttacks}, printing
+ * them as Java array literals. It searches random candidates with a fixed
+ * seed, so that running it again prints the same numbers.
+ * <p>
+ * Usage: {@code MagicGenerator}
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class MagicGenerator {
+    private static final long SEED = 0x5EED_B175L;
+    private static final int BOARD_SIZE = 8;
+    private static final int NUMBERS_PER_LINE = 4;
+
+    /**
+     * Entry point of the generator.
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] rookMagics = new long[Bitboards.SQUARES];
+        long[] bishopMagics = new long[Bitboards.SQUARES];
+        // Rook and bishop candidates are drawn alternately, square by square
+        for (int square = 0; square < Bitboards.SQUARES; square++) {
+            rookMagics[square] = findMagic(square, SlidingAttacks.STRAIGHT_RAYS, random);
+            bishopMagics[square] = findMagic(square, SlidingAttacks.DIAGONAL_RAYS, random);
+        }
+        print("ROOK_MAGIC_NUMBERS", rookMagics);
+        print("BISHOP_MAGIC_NUMBERS", bishopMagics);
+    }
+
+    /**
+     * Searches a magic number for a square.
+     *
+     * @param square the square index
+     * @param rays   the ray directions of the piece
+     * @param random the random generator of the candidates
+     * @return the magic number of the square
+     */
+    private static long findMagic(int square, int[][] rays, SplittableRandom random) {
+        long mask = SlidingAttacks.relevantOccupancy(square, rays);
+        int bits = Long.bitCount(mask);
+        int shift = Long.SIZE - bits;
+        long[] occupancies = SlidingAttacks.occupancySubsets(mask);
+        long[] attacks = new long[occupancies.length];
+        for (int i = 0; i < occupancies.length; i++) {
+            attacks[i] = SlidingAttacks.slowAttacks(square, occupancies[i], rays);
+        }
+
+        long[] table = new long[1 << bits];
+        int[] epochs = new int[1 << bits];
+        for (int epoch = 1; ; epoch++) {
+            // Candidates with few bits set are much more likely to be magic
+            long magic = random.nextLong() & random.nextLong() & random.nextLong();
+            if (Long.bitCount((mask * magic) >>> (Long.SIZE - BOARD_SIZE)) < 6) {
+                continue;
+            }
+            if (SlidingAttacks.fillTable(occupancies, attacks, magic, shift, table, epochs, epoch)) {
+                return magic;
+            }
+        }
+    }
+
+    /**
+     * Prints magic numbers as the declaration of a constant array.
+     *
+     * @param name   the name of the constant
+     * @param magics the magic numbers, indexed by square
+     */
+    private static void print(String name, long[] magics) {
+        StringBuilder declaration = new StringBuilder("private static final long[] " + name + " = {");
+        for (int square = 0; square < magics.length; square++) {
+            declaration.append(square % NUMBERS_PER_LINE == 0 ? "\n        " : " ");
+            declaration.append(String.format(Locale.ROOT, "0x%016XL", magics[square]));
+            if (square < magics.length - 1) {
+                declaration.append(',');
+            }
+        }
+        System.out.println(declaration.append("};"));
+    }
+}
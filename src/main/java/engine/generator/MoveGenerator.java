@@ -1,35 +1,58 @@
 package engine.generator;
 
+import engine.board.Bitboards;
 import engine.board.ChessBoardReader;
+import engine.move.Capture;
 import engine.move.Moves;
+import engine.move.StandardMove;
+import engine.piece.ChessPiece;
 import engine.piece.Position;
 
 /**
  * Abstract class for generating possible moves for a chess piece.
  * Implementations of this class will define how to generate moves
  * for specific types of chess pieces.
+ * Generators are stateless: everything a generation depends on is passed to
+ * {@link #generate}, so a single shared instance serves every piece and board,
+ * on any number of threads.
  *
  * @author Leonard Cseres
  * @author Aladin Iseni
  */
-public abstract class MoveGenerator implements Cloneable {
+public abstract class MoveGenerator {
     /**
      * Generates all possible moves for a given piece from a specific position.
      *
      * @param board the current state of the chessboard
      * @param from  the position of the piece on the board
+     * @param piece the piece to generate the moves of
      * @return a collection of possible moves
      */
-    public abstract Moves generate(ChessBoardReader board, Position from);
+    public abstract Moves generate(ChessBoardReader board, Position from, ChessPiece piece);
 
     /**
-     * Creates a deep clone of the move generator
+     * Creates the moves of a piece towards a set of target squares: a
+     * {@link Capture} if the square is occupied, a {@link StandardMove} otherwise.
      *
-     * @return a cloned instance of the move generator
-     * @throws CloneNotSupportedException if the cloning process fails
+     * @param board   the current state of the chessboard
+     * @param from    the position of the piece on the board
+     * @param piece   the piece to move
+     * @param targets the bitboard of the target squares, without the squares
+     *                occupied by the piece's own color
+     * @return a collection of possible moves
      */
-    @Override
-    public MoveGenerator clone() throws CloneNotSupportedException {
-        return (MoveGenerator) super.clone();
+    protected static Moves createMoves(ChessBoardReader board, Position from, ChessPiece piece, long targets) {
+        Moves moves = new Moves();
+        long occupancy = board.getOccupancy();
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            int square = Long.numberOfTrailingZeros(bits);
+            Position to = Bitboards.position(square);
+            if ((occupancy & Bitboards.bit(square)) != 0) {
+                moves.addMove(new Capture(from, to, piece));
+            } else {
+                moves.addMove(new StandardMove(from, to, piece));
+            }
+        }
+        return moves;
     }
 }
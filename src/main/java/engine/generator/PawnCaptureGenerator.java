@@ -0,0 +1,60 @@
+package engine.generator;
+
+import chess.PieceType;
+import engine.board.Bitboards;
+import engine.board.ChessBoardReader;
+import engine.move.Capture;
+import engine.move.Moves;
+import engine.move.PromotionWithCapture;
+import engine.piece.ChessPiece;
+import engine.piece.Position;
+import engine.piece.PromotableChessPiece;
+
+/**
+ * Generates the diagonal captures of a pawn piece on the chessboard, looked up
+ * in the {@link LeaperAttacks} tables. A capture reaching the last rank is a
+ * promotion.
+ * En passant captures are handled by the pawn itself.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class PawnCaptureGenerator extends MoveGenerator {
+    /**
+     * The shared instance of the generator.
+     */
+    public static final PawnCaptureGenerator INSTANCE = new PawnCaptureGenerator();
+
+    /**
+     * Use the shared {@link #INSTANCE}.
+     */
+    private PawnCaptureGenerator() {
+    }
+
+    /**
+     * Generates the diagonal captures of the pawn at a specified position
+     *
+     * @param board the current state of the chessboard
+     * @param from  the position of the piece on the board
+     * @param piece the piece to generate the moves of
+     * @return a collection of possible moves
+     */
+    @Override
+    public Moves generate(ChessBoardReader board, Position from, ChessPiece piece) {
+        Moves moves = new Moves();
+        long opponents = board.getOccupancy() & ~board.getOccupancy(piece.getColor());
+        long targets = LeaperAttacks.pawnAttacks(piece.getColor(), Bitboards.square(from)) & opponents;
+
+        for (long bits = targets; bits != 0; bits &= bits - 1) {
+            Position to = Bitboards.position(Long.numberOfTrailingZeros(bits));
+            if (PawnDistanceGenerator.isAtPromotionRank(piece.getColor(), to)) {
+                for (PieceType type : PromotableChessPiece.TYPES) {
+                    moves.addMove(new PromotionWithCapture(from, to, piece, type));
+                }
+            } else {
+                moves.addMove(new Capture(from, to, piece));
+            }
+        }
+        return moves;
+    }
+}
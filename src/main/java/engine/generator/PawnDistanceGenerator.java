@@ -1,32 +1,90 @@
 package engine.generator;
 
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.board.Bitboards;
 import engine.board.ChessBoardReader;
 import engine.move.Moves;
+import engine.move.Promotion;
+import engine.move.StandardMove;
 import engine.piece.ChessPiece;
 import engine.piece.Position;
+import engine.piece.PromotableChessPiece;
 
 /**
- * Generates possible moves for a pawn piece on the chessboard.
- * The pawn can move one or two squares forward on its first move, and one
- * square forward thereafter.
- * It does not consider diagonal captures, which are handled in the
+ * Generates the forward moves of a pawn piece on the chessboard.
+ * The pawn can move one or two squares forward from its initial rank, and one
+ * square forward elsewhere, only onto empty squares. A move reaching the last
+ * rank is a promotion.
+ * It does not consider diagonal captures, which are handled by the
+ * {@link PawnCaptureGenerator}.
  *
  * @author Leonard Cseres
  * @author Aladin Iseni
  */
-public final class PawnDistanceGenerator extends DistanceGenerator {
+public final class PawnDistanceGenerator extends MoveGenerator {
+    private static final int BOARD_SIZE = 8;
+    private static final int WHITE_PAWN_ROW = 1;
+    private static final int BLACK_PAWN_ROW = 6;
 
-    public PawnDistanceGenerator() {
-        super(2, new DirectionalGenerator(Direction.FORWARDS));
+    /**
+     * The shared instance of the generator.
+     */
+    public static final PawnDistanceGenerator INSTANCE = new PawnDistanceGenerator();
+
+    /**
+     * Use the shared {@link #INSTANCE}.
+     */
+    private PawnDistanceGenerator() {
     }
 
+    /**
+     * Generates the forward moves of the pawn at a specified position
+     *
+     * @param board the current state of the chessboard
+     * @param from  the position of the piece on the board
+     * @param piece the piece to generate the moves of
+     * @return a collection of possible moves
+     */
     @Override
-    public Moves generate(ChessBoardReader board, Position from) {
-        ChessPiece piece = board.get(from);
-        // If the pawn has moved, restrict its maximum distance to 1
-        if (piece.hasMoved() && getMaxDistance() == 2) {
-            setMaxDistance(1);
+    public Moves generate(ChessBoardReader board, Position from, ChessPiece piece) {
+        Moves moves = new Moves();
+        int step = piece.getColor() == PlayerColor.WHITE ? BOARD_SIZE : -BOARD_SIZE;
+        int oneSquare = Bitboards.square(from) + step;
+        long occupancy = board.getOccupancy();
+
+        if (oneSquare < 0 || oneSquare >= Bitboards.SQUARES || (occupancy & Bitboards.bit(oneSquare)) != 0) {
+            return moves;
         }
-        return super.generate(board, from);
+        Position to = Bitboards.position(oneSquare);
+        if (isAtPromotionRank(piece.getColor(), to)) {
+            for (PieceType type : PromotableChessPiece.TYPES) {
+                moves.addMove(new Promotion(from, to, piece, type));
+            }
+            return moves;
+        }
+        moves.addMove(new StandardMove(from, to, piece));
+
+        int twoSquares = oneSquare + step;
+        // Only a pawn on its initial rank can advance two squares
+        if (from.y() == (piece.getColor() == PlayerColor.WHITE ? WHITE_PAWN_ROW : BLACK_PAWN_ROW)
+                && (occupancy & Bitboards.bit(twoSquares)) == 0) {
+            moves.addMove(new StandardMove(from, Bitboards.position(twoSquares), piece));
+        }
+        return moves;
+    }
+
+    /**
+     * Checks if a position is on the promotion rank for the given pawn color.
+     * White pawns promote on rank 8 (MAX_Y), black pawns promote on rank 1 (0).
+     *
+     * @param color the color of the pawn
+     * @param pos   the position to check
+     * @return true if the position is on the promotion rank, false otherwise
+     */
+    static boolean isAtPromotionRank(PlayerColor color, Position pos) {
+        return color == PlayerColor.WHITE
+                ? pos.y() == Position.MAX_Y
+                : pos.y() == 0;
     }
 }
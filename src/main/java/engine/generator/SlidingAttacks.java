@@ -0,0 +1,288 @@
+package engine.generator;
+
+import engine.board.Bitboards;
+
+/**
+ * Precomputed attack tables for sliding pieces, indexed with magic bitboards.
+ * For each square, the occupancy of the squares that can block a ray is
+ * multiplied by a magic number such that the high bits of the product index a
+ * table holding the attacked squares, giving the attacks in constant time.
+ * The magic numbers are constants found offline by {@link MagicGenerator}, so
+ * that loading the class only fills the tables.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public abstract class SlidingAttacks {
+    static final int[][] STRAIGHT_RAYS = {{0, 1}, {0, -1}, {-1, 0}, {1, 0}};
+    static final int[][] DIAGONAL_RAYS = {{-1, 1}, {1, 1}, {-1, -1}, {1, -1}};
+
+    private static final int BOARD_SIZE = 8;
+
+    // Generated by MagicGenerator, indexed by square
+    private static final long[] ROOK_MAGIC_NUMBERS = {
+            0x0080002010804000L, 0x2080188020004000L, 0x0200100880220240L, 0x0480080004100080L,
+            0x0600041020080200L, 0x0700080C00050016L, 0x5A80010028802200L, 0xA180088011442100L,
+            0x02848001C00081E8L, 0x8000808020004000L, 0x2804802003100080L, 0x0321001000210008L,
+            0x0001005100BC0800L, 0x8422802400020080L, 0x0002808002000300L, 0x000E000088440A21L,
+            0x042384800020C010L, 0x0110104000200040L, 0x0010008080200010L, 0x0250420022001008L,
+            0x0000110008010004L, 0x8001080140042010L, 0x00C0040001021008L, 0x04082A000840A104L,
+            0x0840004080002080L, 0x0020500040002004L, 0x01A4110100402000L, 0x1800100080800800L,
+            0x8011000500080010L, 0x0081002900020400L, 0x1000810400820810L, 0x0101000100008062L,
+            0x0180002000404000L, 0x0400200040401002L, 0x02A0042101001040L, 0x0300801000800800L,
+            0x2200040080800800L, 0x0842020080800400L, 0x01C2500224002801L, 0x2A0200A042000409L,
+            0x0080004020014010L, 0x4010002000404000L, 0xA020022245010010L, 0x0018100069030020L,
+            0x6080040008008080L, 0xE00A001004020008L, 0x2002000801020004L, 0x1002808044020001L,
+            0x8000204100801100L, 0x0802004080210600L, 0x0100102001004100L, 0x0808028010020880L,
+            0x2208020804008080L, 0x0002000400028080L, 0x04200A2188100C00L, 0x000A004084010200L,
+            0x0401128042042102L, 0x081104B2A0C00081L, 0x0044102001000845L, 0x0002200410010009L,
+            0x5001001008000443L, 0x0045008204004801L, 0x0108308102100804L, 0x20200043208C0502L};
+    private static final long[] BISHOP_MAGIC_NUMBERS = {
+            0x0004101002008010L, 0x00D410308A089000L, 0x881000B20248220CL, 0x00044400802000C0L,
+            0x0001104028004000L, 0x0042028220800000L, 0x0004040104101940L, 0x0100878043104000L,
+            0x40001004B0240040L, 0x0120040104440A80L, 0x6081308D08490008L, 0x0000610505000900L,
+            0x0240020210100800L, 0x0000010120101020L, 0x0000B612100A0A10L, 0x880D008200B00490L,
+            0x1421015004100092L, 0x0110000242080904L, 0x9011102802410200L, 0x5208012082004080L,
+            0x0002120401200002L, 0x021300220108C200L, 0x1004104141188800L, 0x0482002182092100L,
+            0x5818204204211224L, 0x8001040288300C21L, 0x0000481010088810L, 0x8244040008020808L,
+            0x8002002002008050L, 0x0110850202004200L, 0x010481201988181CL, 0x0404004309104210L,
+            0x1004A208C0401007L, 0x200C010480981018L, 0x4001840100300844L, 0x81020080210A0200L,
+            0x8841110401120020L, 0x4120210040020800L, 0x0008810400010081L, 0x5200820210088082L,
+            0x0081180842001429L, 0x09604104208810C0L, 0x0112010048100104L, 0x0820154010400208L,
+            0x0000A41014000210L, 0x0120009000800040L, 0x2082300941040200L, 0x0008020090288200L,
+            0x1000410848400040L, 0x0024808090102000L, 0x20C1020201048000L, 0x0000141820880002L,
+            0x00400C60A2440D24L, 0x0203852004010000L, 0x0010200124408002L, 0x0808080098820020L,
+            0x1011010088A04819L, 0x0080002608022803L, 0x0100201024020820L, 0x6810061002050400L,
+            0x1010022410221202L, 0x8100804202040102L, 0x8000423051220088L, 0x0244082208002900L};
+
+    private static final Magic[] ROOK_MAGICS = new Magic[Bitboards.SQUARES];
+    private static final Magic[] BISHOP_MAGICS = new Magic[Bitboards.SQUARES];
+    private static final long[][] BETWEEN = new long[Bitboards.SQUARES][Bitboards.SQUARES];
+
+    static {
+        for (int square = 0; square < Bitboards.SQUARES; square++) {
+            ROOK_MAGICS[square] = buildMagic(square, STRAIGHT_RAYS, ROOK_MAGIC_NUMBERS[square]);
+            BISHOP_MAGICS[square] = buildMagic(square, DIAGONAL_RAYS, BISHOP_MAGIC_NUMBERS[square]);
+        }
+        for (int from = 0; from < Bitboards.SQUARES; from++) {
+            for (int to = 0; to < Bitboards.SQUARES; to++) {
+                BETWEEN[from][to] = slowBetween(from, to);
+            }
+        }
+    }
+
+    /**
+     * Gets the squares attacked by a rook.
+     *
+     * @param square    the square index of the rook
+     * @param occupancy the occupancy bitboard of the board
+     * @return the bitboard of the attacked squares, including the first blocker of
+     * each ray whatever its color
+     */
+    public static long rookAttacks(int square, long occupancy) {
+        return ROOK_MAGICS[square].attacks(occupancy);
+    }
+
+    /**
+     * Gets the squares attacked by a bishop.
+     *
+     * @param square    the square index of the bishop
+     * @param occupancy the occupancy bitboard of the board
+     * @return the bitboard of the attacked squares, including the first blocker of
+     * each ray whatever its color
+     */
+    public static long bishopAttacks(int square, long occupancy) {
+        return BISHOP_MAGICS[square].attacks(occupancy);
+    }
+
+    /**
+     * Gets the squares attacked by a queen.
+     *
+     * @param square    the square index of the queen
+     * @param occupancy the occupancy bitboard of the board
+     * @return the bitboard of the attacked squares, including the first blocker of
+     * each ray whatever its color
+     */
+    public static long queenAttacks(int square, long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    /**
+     * Gets the squares strictly between two squares on the same rank, file or
+     * diagonal.
+     *
+     * @param from the first square index
+     * @param to   the second square index
+     * @return the bitboard of the squares between, empty if the squares are not
+     * aligned or adjacent
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * Computes the squares strictly between two squares, by intersecting the
+     * attacks of each square blocked by the other one.
+     *
+     * @param from the first square index
+     * @param to   the second square index
+     * @return the bitboard of the squares between
+     */
+    private static long slowBetween(int from, int to) {
+        long fromBit = Bitboards.bit(from);
+        long toBit = Bitboards.bit(to);
+        if ((slowAttacks(from, toBit, STRAIGHT_RAYS) & toBit) != 0) {
+            return slowAttacks(from, toBit, STRAIGHT_RAYS) & slowAttacks(to, fromBit, STRAIGHT_RAYS);
+        }
+        if ((slowAttacks(from, toBit, DIAGONAL_RAYS) & toBit) != 0) {
+            return slowAttacks(from, toBit, DIAGONAL_RAYS) & slowAttacks(to, fromBit, DIAGONAL_RAYS);
+        }
+        return 0L;
+    }
+
+    /**
+     * Builds the attack table of a square from its magic number.
+     *
+     * @param square the square index
+     * @param rays   the ray directions of the piece
+     * @param magic  the magic number of the square
+     * @return the magic entry of the square
+     * @throws IllegalStateException if the number is not magic for the square
+     */
+    private static Magic buildMagic(int square, int[][] rays, long magic) {
+        long mask = relevantOccupancy(square, rays);
+        int bits = Long.bitCount(mask);
+        int shift = Long.SIZE - bits;
+        long[] occupancies = occupancySubsets(mask);
+        long[] attacks = new long[occupancies.length];
+        for (int i = 0; i < occupancies.length; i++) {
+            attacks[i] = slowAttacks(square, occupancies[i], rays);
+        }
+        long[] table = new long[1 << bits];
+        if (!fillTable(occupancies, attacks, magic, shift, table, new int[1 << bits], 1)) {
+            throw new IllegalStateException("Invalid magic number for square " + square);
+        }
+        return new Magic(mask, magic, shift, table);
+    }
+
+    /**
+     * Enumerates every subset of an occupancy mask (Carry-Rippler trick).
+     *
+     * @param mask the relevant occupancy mask
+     * @return the subsets, starting with the empty one
+     */
+    static long[] occupancySubsets(long mask) {
+        long[] subsets = new long[1 << Long.bitCount(mask)];
+        long subset = 0L;
+        for (int i = 0; i < subsets.length; i++) {
+            subsets[i] = subset;
+            subset = (subset - mask) & mask;
+        }
+        return subsets;
+    }
+
+    /**
+     * Tries to fill the attack table with the given magic number.
+     *
+     * @param occupancies the occupancy subsets
+     * @param attacks     the attacks of each subset
+     * @param magic       the candidate magic number
+     * @param shift       the shift of the index
+     * @param table       the table to fill
+     * @param epochs      the attempt that last wrote each table entry
+     * @param epoch       the current attempt
+     * @return true if no two subsets with different attacks collide
+     */
+    static boolean fillTable(long[] occupancies, long[] attacks, long magic, int shift, long[] table,
+            int[] epochs, int epoch) {
+        for (int i = 0; i < occupancies.length; i++) {
+            int index = (int) ((occupancies[i] * magic) >>> shift);
+            if (epochs[index] != epoch) {
+                epochs[index] = epoch;
+                table[index] = attacks[i];
+            } else if (table[index] != attacks[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the squares whose occupancy can change the attacks of a slider,
+     * which are the rays without their last square.
+     *
+     * @param square the square index of the slider
+     * @param rays   the ray directions of the slider
+     * @return the relevant occupancy mask
+     */
+    static long relevantOccupancy(int square, int[][] rays) {
+        long mask = 0L;
+        for (int[] ray : rays) {
+            int x = square % BOARD_SIZE + ray[0];
+            int y = square / BOARD_SIZE + ray[1];
+            while (isOnBoard(x + ray[0], y + ray[1])) {
+                mask |= Bitboards.bit(y * BOARD_SIZE + x);
+                x += ray[0];
+                y += ray[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Computes the attacks of a slider by walking its rays.
+     *
+     * @param square    the square index of the slider
+     * @param occupancy the occupancy bitboard
+     * @param rays      the ray directions of the slider
+     * @return the bitboard of the attacked squares
+     */
+    static long slowAttacks(int square, long occupancy, int[][] rays) {
+        long attacks = 0L;
+        for (int[] ray : rays) {
+            int x = square % BOARD_SIZE + ray[0];
+            int y = square / BOARD_SIZE + ray[1];
+            while (isOnBoard(x, y)) {
+                long bit = Bitboards.bit(y * BOARD_SIZE + x);
+                attacks |= bit;
+                if ((occupancy & bit) != 0) {
+                    break;
+                }
+                x += ray[0];
+                y += ray[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Checks if coordinates are on the board.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return true if the coordinates are on the board
+     */
+    private static boolean isOnBoard(int x, int y) {
+        return x >= 0 && y >= 0 && x < BOARD_SIZE && y < BOARD_SIZE;
+    }
+
+    /**
+     * Magic lookup entry of a square.
+     *
+     * @param mask    the relevant occupancy mask
+     * @param magic   the magic number
+     * @param shift   the shift of the index
+     * @param attacks the attack table
+     */
+    private record Magic(long mask, long magic, int shift, long[] attacks) {
+        /**
+         * Looks up the attacks for an occupancy.
+         *
+         * @param occupancy the occupancy bitboard of the board
+         * @return the bitboard of the attacked squares
+         */
+        long attacks(long occupancy) {
+            return attacks[(int) (((occupancy & mask) * magic) >>> shift)];
+        }
+    }
+}
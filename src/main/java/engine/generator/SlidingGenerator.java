@@ -0,0 +1,77 @@
+package engine.generator;
+
+import engine.board.Bitboards;
+import engine.board.ChessBoardReader;
+import engine.move.Moves;
+import engine.piece.ChessPiece;
+import engine.piece.Position;
+
+import java.util.List;
+
+/**
+ * Generates possible moves for sliding pieces (bishop, rook and queen) using
+ * the precomputed {@link SlidingAttacks} tables instead of walking the rays.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class SlidingGenerator extends MoveGenerator {
+    /**
+     * The shared generator of the rook moves.
+     */
+    public static final SlidingGenerator STRAIGHT = new SlidingGenerator(Direction.STRAIGHT);
+
+    /**
+     * The shared generator of the bishop moves.
+     */
+    public static final SlidingGenerator DIAGONAL = new SlidingGenerator(Direction.DIAGONAL);
+
+    /**
+     * The shared generator of the queen moves.
+     */
+    public static final SlidingGenerator ALL = new SlidingGenerator(Direction.ALL);
+
+    private final boolean straight;
+    private final boolean diagonal;
+
+    /**
+     * Constructs a SlidingGenerator sliding in the given directions.
+     *
+     * @param dirs the directions the piece can slide in, must be
+     *             {@link Direction#STRAIGHT}, {@link Direction#DIAGONAL} or
+     *             {@link Direction#ALL}
+     * @throws IllegalArgumentException if the directions are not one of the
+     *                                  supported sets
+     */
+    private SlidingGenerator(List<Direction> dirs) {
+        this.straight = dirs.containsAll(Direction.STRAIGHT);
+        this.diagonal = dirs.containsAll(Direction.DIAGONAL);
+        if (dirs.size() != (straight ? Direction.STRAIGHT.size() : 0) + (diagonal ? Direction.DIAGONAL.size() : 0)) {
+            throw new IllegalArgumentException("Unsupported sliding directions: " + dirs);
+        }
+    }
+
+    /**
+     * Generates all possible moves at a specified position by looking up the
+     * attacked squares
+     *
+     * @param board the current state of the chessboard
+     * @param from  the position of the piece on the board
+     * @param piece the piece to generate the moves of
+     * @return a collection of possible moves
+     */
+    @Override
+    public Moves generate(ChessBoardReader board, Position from, ChessPiece piece) {
+        int square = Bitboards.square(from);
+        long occupancy = board.getOccupancy();
+
+        long attacks = 0L;
+        if (straight) {
+            attacks |= SlidingAttacks.rookAttacks(square, occupancy);
+        }
+        if (diagonal) {
+            attacks |= SlidingAttacks.bishopAttacks(square, occupancy);
+        }
+        return createMoves(board, from, piece, attacks & ~board.getOccupancy(piece.getColor()));
+    }
+}
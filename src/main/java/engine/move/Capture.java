@@ -14,6 +14,7 @@ import engine.piece.Position;
  * @author Aladin Iseni
  */
 public class Capture extends ChessMove {
+    private ChessPiece capturedPiece;
 
     /**
      * Constructs a Capture move with the specified starting and destination
@@ -28,6 +29,16 @@ public class Capture extends ChessMove {
         super(from, to, fromPiece);
     }
 
+    /**
+     * Checks if the move captures a piece of the opponent, which it always does.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isCapture() {
+        return true;
+    }
+
     /**
      * Executes the capture move on the provided chess board.
      * The piece is moved from the starting position to the destination position,
@@ -39,8 +50,22 @@ public class Capture extends ChessMove {
     public void execute(ChessBoardWriter board) {
         super.execute(board);
         board.remove(from);
-        fromPiece.markMoved();
-        board.remove(to);
+        capturedPiece = board.remove(to);
         board.put(to, fromPiece);
     }
+
+    /**
+     * Undoes the capture move on the provided chess board.
+     * The moving piece is put back at the starting position and the captured piece
+     * is restored at the destination position.
+     *
+     * @param board the chessboard on which the move was executed
+     */
+    @Override
+    public void undo(ChessBoardWriter board) {
+        board.remove(to);
+        board.put(to, capturedPiece);
+        board.put(from, fromPiece);
+        super.undo(board);
+    }
 }
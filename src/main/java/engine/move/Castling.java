@@ -33,7 +33,7 @@ abstract class Castling extends ChessMove {
         super(from, to, king);
         this.fromRook = fromRook;
         this.toRook = toRook;
-        this.rook = rook.clone();
+        this.rook = rook;
     }
 
     /**
@@ -44,15 +44,24 @@ abstract class Castling extends ChessMove {
     @Override
     public void execute(ChessBoardWriter board) {
         super.execute(board);
-        ChessPiece king = fromPiece;
-
         board.remove(from);
         board.remove(fromRook);
-
-        king.markMoved();
-        rook.markMoved();
-
-        board.put(to, king);
+        board.put(to, fromPiece);
         board.put(toRook, rook);
     }
+
+    /**
+     * Undoes the castling move on the provided chessboard, putting the king and
+     * the rook back at their starting positions.
+     *
+     * @param board the chessboard on which the move was executed
+     */
+    @Override
+    public void undo(ChessBoardWriter board) {
+        board.remove(to);
+        board.remove(toRook);
+        board.put(from, fromPiece);
+        board.put(fromRook, rook);
+        super.undo(board);
+    }
 }
@@ -1,6 +1,8 @@
 package engine.move;
 
+import chess.PieceType;
 import engine.board.ChessBoardWriter;
+import engine.board.GameState;
 import engine.piece.ChessPiece;
 import engine.piece.Position;
 
@@ -16,6 +18,7 @@ public abstract class ChessMove {
     protected final Position from;
     protected final Position to;
     protected final ChessPiece fromPiece;
+    private GameState previousState;
 
     /**
      * Constructs a ChessMove with the specified starting and ending positions.
@@ -27,7 +30,7 @@ public abstract class ChessMove {
     public ChessMove(Position from, Position to, ChessPiece fromPiece) {
         this.from = from;
         this.to = to;
-        this.fromPiece = fromPiece.clone();
+        this.fromPiece = fromPiece;
     }
 
     /**
@@ -57,6 +60,27 @@ public abstract class ChessMove {
         return fromPiece;
     }
 
+    /**
+     * Gets the type of the piece a pawn is promoted to by this move, which is part
+     * of the move identity: the four promotions of a pawn to the same square are
+     * distinct moves.
+     *
+     * @return the promotion piece type, or null if the move is not a promotion
+     */
+    public PieceType getPromotion() {
+        return null;
+    }
+
+    /**
+     * Checks if the move captures a piece of the opponent. Captures are
+     * irreversible and reset the halfmove clock.
+     *
+     * @return true if the move is a capture, false otherwise
+     */
+    public boolean isCapture() {
+        return false;
+    }
+
     /**
      * Executes the move on the given chess board.
      * This method must be overridden by subclasses to define the specific behavior
@@ -65,7 +89,20 @@ public abstract class ChessMove {
      * @param board the chessboard on which the move is executed
      */
     public void execute(ChessBoardWriter board) {
-        board.setLastMove(this);
+        previousState = board.updateGameState(this);
+    }
+
+    /**
+     * Undoes the move on the given chess board, restoring the captured pieces, the
+     * moved pieces and the game state.
+     * Must be called on the board the move was last executed on, before any other
+     * move is executed on it.
+     * Subclasses overriding this method must call it to restore the game state.
+     *
+     * @param board the chessboard on which the move was executed
+     */
+    public void undo(ChessBoardWriter board) {
+        board.restoreGameState(previousState);
     }
 
     /**
@@ -15,6 +15,7 @@ import engine.piece.Position;
  */
 public final class EnPassant extends StandardMove {
     private final Position capturePawnPosition;
+    private ChessPiece capturedPawn;
 
     /**
      * Constructs an En Passant move with the specified starting and destination
@@ -31,6 +32,16 @@ public final class EnPassant extends StandardMove {
         this.capturePawnPosition = capturePawnPosition;
     }
 
+    /**
+     * Checks if the move captures a piece of the opponent, which it always does.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isCapture() {
+        return true;
+    }
+
     /**
      * Executes the En Passant move on the provided chessboard. The capturing pawn
      * is moved to the destination square, and the captured pawn (which is bypassed
@@ -41,6 +52,18 @@ public final class EnPassant extends StandardMove {
     @Override
     public void execute(ChessBoardWriter board) {
         super.execute(board);
-        board.remove(capturePawnPosition);
+        capturedPawn = board.remove(capturePawnPosition);
+    }
+
+    /**
+     * Undoes the En Passant move on the provided chessboard. The captured pawn is
+     * restored and the capturing pawn is moved back.
+     *
+     * @param board the chessboard on which the move was executed
+     */
+    @Override
+    public void undo(ChessBoardWriter board) {
+        board.put(capturePawnPosition, capturedPawn);
+        super.undo(board);
     }
 }
@@ -0,0 +1,92 @@
+package engine.move;
+
+/**
+ * A reusable list of packed moves (see {@link PackedMove}), backed by a fixed
+ * size {@code int} array large enough for any chess position.
+ * Clearing and refilling the list does not allocate.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class MoveList {
+    // No legal chess position has more than 218 moves
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size = 0;
+
+    /**
+     * Adds a packed move at the end of the list.
+     *
+     * @param move the packed move
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * Gets the packed move at the given index.
+     *
+     * @param index the index of the move
+     * @return the packed move
+     * @throws IndexOutOfBoundsException if the index is not within the list
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return moves[index];
+    }
+
+    /**
+     * Swaps two moves of the list, such that moves can be reordered in place.
+     *
+     * @param i the index of the first move
+     * @param j the index of the second move
+     * @throws IndexOutOfBoundsException if an index is not within the list
+     */
+    public void swap(int i, int j) {
+        int move = get(i);
+        moves[i] = get(j);
+        moves[j] = move;
+    }
+
+    /**
+     * Gets the number of moves in the list.
+     *
+     * @return the number of moves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list contains no move.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the moves from the list, keeping its storage.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns a string representation of the moves, in coordinates.
+     *
+     * @return a string representing the moves
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            builder.append(i == 0 ? "" : ", ").append(PackedMove.toString(moves[i]));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -1,27 +1,28 @@
 package engine.move;
 
+import chess.PieceType;
 import engine.piece.Position;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 /**
- * Represents a collection of chess moves, storing them in a map with the
- * destination position as the key.
+ * Represents a collection of chess moves, stored in generation order.
  * Provides methods for adding, extending, and retrieving moves.
+ * Move generation itself works on packed moves, see {@link MoveList}.
  *
  * @author Leonard Cseres
  * @author Aladin Iseni
  */
 public final class Moves {
-    private final Map<Position, ChessMove> movesMap;
+    private final List<ChessMove> moves;
 
     /**
      * Constructs an empty Moves object to hold chess moves.
      */
     public Moves() {
-        movesMap = new HashMap<>();
+        moves = new ArrayList<>();
     }
 
     /**
@@ -30,7 +31,7 @@ public final class Moves {
      * @param move the chess move to be added
      */
     public void addMove(ChessMove move) {
-        movesMap.put(move.getTo(), move);
+        moves.add(move);
     }
 
     /**
@@ -40,20 +41,42 @@ public final class Moves {
      * @param moves the Moves object whose moves should be added
      */
     public void extendMoves(Moves moves) {
-        for (ChessMove move : moves.getAllMoves()) {
-            this.addMove(move);
-        }
+        this.moves.addAll(moves.moves);
     }
 
     /**
      * Retrieves a move based on its destination position.
      *
      * @param to the destination position of the move
-     * @return the chess move associated with the destination position, or null if
+     * @return the first chess move reaching the destination position, or null if
      * no such move exists
      */
     public ChessMove getMove(Position to) {
-        return movesMap.get(to);
+        for (ChessMove move : moves) {
+            if (move.getTo().equals(to)) {
+                return move;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves a move based on its destination position and promotion piece,
+     * which together identify the move of a given piece.
+     *
+     * @param to        the destination position of the move
+     * @param promotion the promotion piece type, null for a move that is not a
+     *                  promotion
+     * @return the chess move matching the destination and promotion, or null if
+     * no such move exists
+     */
+    public ChessMove getMove(Position to, PieceType promotion) {
+        for (ChessMove move : moves) {
+            if (move.getTo().equals(to) && move.getPromotion() == promotion) {
+                return move;
+            }
+        }
+        return null;
     }
 
     /**
@@ -62,7 +85,7 @@ public final class Moves {
      * @return a collection of all chess moves
      */
     public Collection<ChessMove> getAllMoves() {
-        return movesMap.values();
+        return moves;
     }
 
     /**
@@ -72,6 +95,6 @@ public final class Moves {
      */
     @Override
     public String toString() {
-        return movesMap.values().toString();
+        return moves.toString();
     }
 }
@@ -0,0 +1,234 @@
+package engine.move;
+
+import chess.PieceType;
+import engine.board.Bitboards;
+import engine.board.ChessBoardReader;
+import engine.piece.ChessPiece;
+import engine.piece.Position;
+
+/**
+ * Utility class encoding a move in a single {@code int}, such that moves can be
+ * generated and stored without allocating objects.
+ * The bits are laid out as follows:
+ * <ul>
+ * <li>0-5: the origin square index</li>
+ * <li>6-11: the destination square index</li>
+ * <li>12-14: the move flag, e.g. {@link #CAPTURE}</li>
+ * <li>15-17: the ordinal of the promotion {@link PieceType}, for promotions
+ * only</li>
+ * </ul>
+ * A packed move is turned into a {@link ChessMove} with
+ * {@link #toChessMove(ChessBoardReader, int)} to be executed or shown.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public abstract class PackedMove {
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int CAPTURE = 2;
+    public static final int EN_PASSANT = 3;
+    public static final int SHORT_CASTLING = 4;
+    public static final int LONG_CASTLING = 5;
+    public static final int PROMOTION = 6;
+    public static final int PROMOTION_CAPTURE = 7;
+
+    private static final int SQUARE_BITS = 6;
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+    private static final int TO_SHIFT = SQUARE_BITS;
+    private static final int FLAG_SHIFT = 2 * SQUARE_BITS;
+    private static final int FLAG_MASK = 0b111;
+    private static final int PROMOTION_SHIFT = FLAG_SHIFT + 3;
+    private static final int PROMOTION_MASK = 0b111;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    /**
+     * Encodes a move that is not a promotion.
+     *
+     * @param from the origin square index
+     * @param to   the destination square index
+     * @param flag the move flag
+     * @return the packed move
+     */
+    public static int encode(int from, int to, int flag) {
+        return from | to << TO_SHIFT | flag << FLAG_SHIFT;
+    }
+
+    /**
+     * Encodes a promotion move.
+     *
+     * @param from      the origin square index
+     * @param to        the destination square index
+     * @param flag      the move flag, {@link #PROMOTION} or
+     *                  {@link #PROMOTION_CAPTURE}
+     * @param promotion the type of the piece the pawn is promoted to
+     * @return the packed move
+     */
+    public static int encode(int from, int to, int flag, PieceType promotion) {
+        return encode(from, to, flag) | promotion.ordinal() << PROMOTION_SHIFT;
+    }
+
+    /**
+     * Encodes a {@link ChessMove}, the reverse of
+     * {@link #toChessMove(ChessBoardReader, int)}.
+     *
+     * @param move the chess move
+     * @return the packed move
+     */
+    public static int encode(ChessMove move) {
+        int from = Bitboards.square(move.getFrom());
+        int to = Bitboards.square(move.getTo());
+        if (move.getPromotion() != null) {
+            return encode(from, to, move.isCapture() ? PROMOTION_CAPTURE : PROMOTION, move.getPromotion());
+        }
+        int flag;
+        if (move instanceof EnPassant) {
+            flag = EN_PASSANT;
+        } else if (move instanceof ShortCastling) {
+            flag = SHORT_CASTLING;
+        } else if (move instanceof LongCastling) {
+            flag = LONG_CASTLING;
+        } else if (move.isCapture()) {
+            flag = CAPTURE;
+        } else if (move.getFromPiece().getType() == PieceType.PAWN
+                && Math.abs(move.getTo().y() - move.getFrom().y()) == 2) {
+            flag = DOUBLE_PAWN_PUSH;
+        } else {
+            flag = QUIET;
+        }
+        return encode(from, to, flag);
+    }
+
+    /**
+     * Gets the origin square index of a packed move.
+     *
+     * @param move the packed move
+     * @return the origin square index
+     */
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the destination square index of a packed move.
+     *
+     * @param move the packed move
+     * @return the destination square index
+     */
+    public static int to(int move) {
+        return move >>> TO_SHIFT & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the flag of a packed move.
+     *
+     * @param move the packed move
+     * @return the move flag
+     */
+    public static int flag(int move) {
+        return move >>> FLAG_SHIFT & FLAG_MASK;
+    }
+
+    /**
+     * Gets the promotion piece type of a packed move.
+     *
+     * @param move the packed move
+     * @return the type of the piece the pawn is promoted to, or null if the move
+     * is not a promotion
+     */
+    public static PieceType promotion(int move) {
+        return isPromotion(move) ? PIECE_TYPES[move >>> PROMOTION_SHIFT & PROMOTION_MASK] : null;
+    }
+
+    /**
+     * Checks if a packed move captures a piece, en passant included.
+     *
+     * @param move the packed move
+     * @return true if the move is a capture, false otherwise
+     */
+    public static boolean isCapture(int move) {
+        int flag = flag(move);
+        return flag == CAPTURE || flag == EN_PASSANT || flag == PROMOTION_CAPTURE;
+    }
+
+    /**
+     * Checks if a packed move is a promotion.
+     *
+     * @param move the packed move
+     * @return true if the move is a promotion, false otherwise
+     */
+    public static boolean isPromotion(int move) {
+        int flag = flag(move);
+        return flag == PROMOTION || flag == PROMOTION_CAPTURE;
+    }
+
+    /**
+     * Creates the {@link ChessMove} corresponding to a packed move in the current
+     * position of the board.
+     *
+     * @param board the chessboard the move was generated on
+     * @param move  the packed move
+     * @return the chess move, ready to be executed
+     * @throws IllegalArgumentException if the move flag is unknown
+     */
+    public static ChessMove toChessMove(ChessBoardReader board, int move) {
+        Position from = Bitboards.position(from(move));
+        Position to = Bitboards.position(to(move));
+        ChessPiece piece = board.get(from);
+        return switch (flag(move)) {
+            case QUIET, DOUBLE_PAWN_PUSH -> new StandardMove(from, to, piece);
+            case CAPTURE -> new Capture(from, to, piece);
+            case EN_PASSANT -> new EnPassant(from, to, piece, new Position(to.x(), from.y()));
+            case SHORT_CASTLING -> {
+                Position rook = new Position(Position.MAX_X, from.y());
+                yield new ShortCastling(from, to, piece, rook, board.get(rook));
+            }
+            case LONG_CASTLING -> {
+                Position rook = new Position(0, from.y());
+                yield new LongCastling(from, to, piece, rook, board.get(rook));
+            }
+            case PROMOTION -> new Promotion(from, to, piece, promotion(move));
+            case PROMOTION_CAPTURE -> new PromotionWithCapture(from, to, piece, promotion(move));
+            default -> throw new IllegalArgumentException("Unknown move flag: " + flag(move));
+        };
+    }
+
+    /**
+     * Formats a packed move as its origin and destination coordinates, followed by
+     * the promotion piece if any, e.g. "e2e4" or "e7e8q".
+     *
+     * @param move the packed move
+     * @return the coordinates of the move
+     */
+    public static String toString(int move) {
+        String coordinates = coordinates(from(move)) + coordinates(to(move));
+        PieceType promotion = promotion(move);
+        return promotion == null ? coordinates : coordinates + promotionLetter(promotion);
+    }
+
+    /**
+     * Formats a square as its coordinates, e.g. "e2".
+     *
+     * @param square the square index
+     * @return the coordinates of the square
+     */
+    private static String coordinates(int square) {
+        Position pos = Bitboards.position(square);
+        return "" + (char) ('a' + pos.x()) + (char) ('1' + pos.y());
+    }
+
+    /**
+     * Gets the lowercase letter of a promotion piece type.
+     *
+     * @param type the promotion piece type
+     * @return the letter of the piece
+     */
+    private static char promotionLetter(PieceType type) {
+        return switch (type) {
+            case KNIGHT -> 'n';
+            case BISHOP -> 'b';
+            case ROOK -> 'r';
+            default -> 'q';
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package engine.move;
 
+import chess.PieceType;
 import engine.board.ChessBoardWriter;
 import engine.piece.ChessPiece;
 import engine.piece.Position;
+import engine.piece.PromotableChessPiece;
 
 /**
  * Represents a promotion move in chess, where a pawn reaches the last rank and
@@ -13,17 +15,34 @@ import engine.piece.Position;
  * @author Aladin Iseni
  */
 public final class Promotion extends StandardMove {
+    private final PieceType promotion;
 
     /**
      * Constructs a Promotion move with the specified starting and destination
      * positions.
      *
-     * @param from the starting position of the pawn
-     * @param to   the destination position where the pawn will be promoted
-     * @param pawn the starting position pawn
+     * @param from      the starting position of the pawn
+     * @param to        the destination position where the pawn will be promoted
+     * @param pawn      the starting position pawn
+     * @param promotion the type of the piece the pawn is promoted to
+     * @throws IllegalArgumentException if a pawn cannot be promoted to the type
      */
-    public Promotion(Position from, Position to, ChessPiece pawn) {
+    public Promotion(Position from, Position to, ChessPiece pawn, PieceType promotion) {
         super(from, to, pawn);
+        if (!PromotableChessPiece.TYPES.contains(promotion)) {
+            throw new IllegalArgumentException("Cannot promote to " + promotion);
+        }
+        this.promotion = promotion;
+    }
+
+    /**
+     * Gets the type of the piece the pawn is promoted to.
+     *
+     * @return the promotion piece type
+     */
+    @Override
+    public PieceType getPromotion() {
+        return promotion;
     }
 
     /**
@@ -37,6 +56,16 @@ public final class Promotion extends StandardMove {
     @Override
     public void execute(ChessBoardWriter board) {
         super.execute(board);
-        board.handlePawnPromotion(to);
+        board.put(to, PromotableChessPiece.of(promotion, fromPiece.getColor()));
+    }
+
+    /**
+     * Returns a string representation of the move, including the promotion piece.
+     *
+     * @return a string representation of the move
+     */
+    @Override
+    public String toString() {
+        return super.toString() + " = " + promotion;
     }
 }
@@ -1,8 +1,10 @@
 package engine.move;
 
+import chess.PieceType;
 import engine.board.ChessBoardWriter;
 import engine.piece.ChessPiece;
 import engine.piece.Position;
+import engine.piece.PromotableChessPiece;
 
 /**
  * Represents a promotion move with capture in chess, where a pawn captures an
@@ -13,18 +15,35 @@ import engine.piece.Position;
  * @author Aladin Iseni
  */
 public final class PromotionWithCapture extends Capture {
+    private final PieceType promotion;
 
     /**
      * Constructs a PromotionWithCapture move with the specified starting and
      * destination positions.
      *
-     * @param from the starting position of the pawn
-     * @param to   the destination position where the pawn will capture and be
-     *             promoted
-     * @param pawn the starting position pawn
+     * @param from      the starting position of the pawn
+     * @param to        the destination position where the pawn will capture and
+     *                  be promoted
+     * @param pawn      the starting position pawn
+     * @param promotion the type of the piece the pawn is promoted to
+     * @throws IllegalArgumentException if a pawn cannot be promoted to the type
      */
-    public PromotionWithCapture(Position from, Position to, ChessPiece pawn) {
+    public PromotionWithCapture(Position from, Position to, ChessPiece pawn, PieceType promotion) {
         super(from, to, pawn);
+        if (!PromotableChessPiece.TYPES.contains(promotion)) {
+            throw new IllegalArgumentException("Cannot promote to " + promotion);
+        }
+        this.promotion = promotion;
+    }
+
+    /**
+     * Gets the type of the piece the pawn is promoted to.
+     *
+     * @return the promotion piece type
+     */
+    @Override
+    public PieceType getPromotion() {
+        return promotion;
     }
 
     /**
@@ -38,6 +57,16 @@ public final class PromotionWithCapture extends Capture {
     @Override
     public void execute(ChessBoardWriter board) {
         super.execute(board);
-        board.handlePawnPromotion(to);
+        board.put(to, PromotableChessPiece.of(promotion, fromPiece.getColor()));
+    }
+
+    /**
+     * Returns a string representation of the move, including the promotion piece.
+     *
+     * @return a string representation of the move
+     */
+    @Override
+    public String toString() {
+        return super.toString() + " = " + promotion;
     }
 }
@@ -28,8 +28,7 @@ public class StandardMove extends ChessMove {
 
     /**
      * Executes the move on the provided chess board.
-     * The piece is moved from the starting position to the destination position,
-     * and it is marked as moved.
+     * The piece is moved from the starting position to the destination position.
      *
      * @param board the chessboard on which the move is executed
      */
@@ -37,7 +36,20 @@ public class StandardMove extends ChessMove {
     public void execute(ChessBoardWriter board) {
         super.execute(board);
         board.remove(from);
-        fromPiece.markMoved();
         board.put(to, fromPiece);
     }
+
+    /**
+     * Undoes the move on the provided chess board.
+     * The piece at the destination position is removed, and the piece that was
+     * moved is put back at the starting position.
+     *
+     * @param board the chessboard on which the move was executed
+     */
+    @Override
+    public void undo(ChessBoardWriter board) {
+        board.remove(to);
+        board.put(from, fromPiece);
+        super.undo(board);
+    }
 }
@@ -0,0 +1,174 @@
+package engine.notation;
+
+import chess.PieceType;
+import engine.board.Bitboards;
+import engine.board.ChessBoard;
+import engine.board.ChessBoardReader;
+import engine.move.ChessMove;
+import engine.move.MoveList;
+import engine.move.PackedMove;
+
+import static engine.notation.Notation.BOARD_SIZE;
+import static engine.notation.Notation.NONE;
+
+/**
+ * Utility class for the Long Algebraic Notation (LAN) of moves, giving both
+ * squares of the move, e.g. "e2-e4", "Ng1-f3", "e4xd5", "O-O" or "e7-e8=Q+".
+ * The pure coordinate form used by engine protocols, e.g. "e2e4" or "e7e8q", is
+ * decoded as well.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public abstract class Lan {
+
+    /**
+     * Decodes a move in LAN or in coordinates.
+     *
+     * @param board      the board the move is played on
+     * @param legalMoves the legal moves of the side to move
+     * @param lan        the move in LAN
+     * @return the matching packed move
+     * @throws IllegalArgumentException if the move is malformed or illegal
+     */
+    public static int parse(ChessBoardReader board, MoveList legalMoves, CharSequence lan) {
+        return parse(board, legalMoves, lan, 0, lan.length());
+    }
+
+    /**
+     * Decodes a move in LAN or in coordinates into a {@link ChessMove}, ready to
+     * be executed.
+     *
+     * @param board      the board the move is played on
+     * @param legalMoves the legal moves of the side to move
+     * @param lan        the move in LAN
+     * @return the matching chess move
+     * @throws IllegalArgumentException if the move is malformed or illegal
+     */
+    public static ChessMove toChessMove(ChessBoardReader board, MoveList legalMoves, CharSequence lan) {
+        return PackedMove.toChessMove(board, parse(board, legalMoves, lan));
+    }
+
+    /**
+     * Decodes a move in LAN or in coordinates written in a part of a character
+     * sequence. The piece letter, the separator and the check, checkmate and
+     * annotation suffixes are optional, and the promotion letter may be
+     * lowercase.
+     *
+     * @param board      the board the move is played on
+     * @param legalMoves the legal moves of the side to move
+     * @param text       the text containing the move
+     * @param start      the index of the first character of the move
+     * @param end        the index after the last character of the move
+     * @return the matching packed move
+     * @throws IllegalArgumentException if the move is malformed or illegal
+     */
+    public static int parse(ChessBoardReader board, MoveList legalMoves, CharSequence text, int start, int end) {
+        int moveEnd = end;
+        end = Notation.stripSuffix(text, start, end);
+        if (end - start < 3) {
+            throw Notation.invalid("Invalid LAN", text, start, moveEnd);
+        }
+
+        int castlingFlag = Notation.castlingFlag(text, start, end);
+        if (castlingFlag != NONE) {
+            int castling = Notation.findCastling(legalMoves, castlingFlag);
+            if (castling == NONE) {
+                throw Notation.invalid("Illegal move", text, start, moveEnd);
+            }
+            return castling;
+        }
+
+        int index = start;
+        PieceType type = Notation.pieceType(text.charAt(index));
+        if (type != null) {
+            index++;
+        }
+        int from = square(text, index, end);
+        index += 2;
+        if (index < end && (text.charAt(index) == '-' || text.charAt(index) == 'x' || text.charAt(index) == ':')) {
+            index++;
+        }
+        int to = square(text, index, end);
+        index += 2;
+        PieceType promotion = null;
+        if (index < end && text.charAt(index) == '=') {
+            index++;
+        }
+        if (index < end) {
+            promotion = Notation.pieceType(Character.toUpperCase(text.charAt(index++)));
+            if (promotion == null || promotion == PieceType.KING || promotion == PieceType.PAWN) {
+                throw Notation.invalid("Invalid LAN", text, start, moveEnd);
+            }
+        }
+        if (from == NONE || to == NONE || index != end) {
+            throw Notation.invalid("Invalid LAN", text, start, moveEnd);
+        }
+        if (type != null && (board.getBitboard(type, board.getSideToMove()) & Bitboards.bit(from)) == 0) {
+            throw Notation.invalid("Illegal move", text, start, moveEnd);
+        }
+
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            if (PackedMove.from(move) == from && PackedMove.to(move) == to && PackedMove.promotion(move) == promotion) {
+                return move;
+            }
+        }
+        throw Notation.invalid("Illegal move", text, start, moveEnd);
+    }
+
+    /**
+     * Encodes a move in LAN, with its check or checkmate suffix.
+     *
+     * @param board the board the move is played on, left untouched
+     * @param move  the chess move
+     * @return the move in LAN
+     */
+    public static String format(ChessBoard board, ChessMove move) {
+        return format(board, PackedMove.encode(move));
+    }
+
+    /**
+     * Encodes a move in LAN, with its check or checkmate suffix.
+     *
+     * @param board the board the move is played on, left untouched
+     * @param move  the packed move
+     * @return the move in LAN
+     */
+    public static String format(ChessBoard board, int move) {
+        StringBuilder lan = new StringBuilder(10);
+        if (Notation.isCastling(move)) {
+            lan.append(PackedMove.flag(move) == PackedMove.SHORT_CASTLING ? "O-O" : "O-O-O");
+        } else {
+            PieceType type = board.get(Bitboards.position(PackedMove.from(move))).getType();
+            if (type != PieceType.PAWN) {
+                lan.append(Notation.pieceLetter(type));
+            }
+            Notation.appendSquare(lan, PackedMove.from(move));
+            lan.append(PackedMove.isCapture(move) ? 'x' : '-');
+            Notation.appendSquare(lan, PackedMove.to(move));
+            if (PackedMove.isPromotion(move)) {
+                lan.append('=').append(Notation.pieceLetter(PackedMove.promotion(move)));
+            }
+        }
+        Notation.appendCheckSuffix(lan, board, move);
+        return lan.toString();
+    }
+
+    /**
+     * Reads the coordinates of a square.
+     *
+     * @param text  the text containing the square
+     * @param index the index of the file letter
+     * @param end   the index after the last character that can be read
+     * @return the square index, or {@link Notation#NONE} if there is no square
+     */
+    private static int square(CharSequence text, int index, int end) {
+        if (index + 1 >= end) {
+            return NONE;
+        }
+        int file = Notation.file(text.charAt(index));
+        int rank = Notation.rank(text.charAt(index + 1));
+        return file == NONE || rank == NONE ? NONE : rank * BOARD_SIZE + file;
+    }
+}
@@ -0,0 +1,197 @@
+package engine.notation;
+
+import chess.PieceType;
+import engine.board.ChessBoard;
+import engine.board.LegalMoveGenerator;
+import engine.move.ChessMove;
+import engine.move.MoveList;
+import engine.move.PackedMove;
+
+/**
+ * Utility class with the parts shared by the algebraic notations: the piece
+ * letters, the squares and the check and checkmate suffixes.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+abstract class Notation {
+    static final int BOARD_SIZE = 8;
+    static final int NONE = -1;
+
+    /**
+     * Gets the piece type of an uppercase piece letter.
+     *
+     * @param letter the piece letter
+     * @return the piece type, or null if the letter is no piece
+     */
+    static PieceType pieceType(char letter) {
+        return switch (letter) {
+            case 'P' -> PieceType.PAWN;
+            case 'N' -> PieceType.KNIGHT;
+            case 'B' -> PieceType.BISHOP;
+            case 'R' -> PieceType.ROOK;
+            case 'Q' -> PieceType.QUEEN;
+            case 'K' -> PieceType.KING;
+            default -> null;
+        };
+    }
+
+    /**
+     * Gets the uppercase letter of a piece type.
+     *
+     * @param type the piece type
+     * @return the piece letter
+     */
+    static char pieceLetter(PieceType type) {
+        return switch (type) {
+            case PAWN -> 'P';
+            case KNIGHT -> 'N';
+            case BISHOP -> 'B';
+            case ROOK -> 'R';
+            case QUEEN -> 'Q';
+            case KING -> 'K';
+        };
+    }
+
+    /**
+     * Gets the file of a file letter.
+     *
+     * @param c the file letter, from 'a' to 'h'
+     * @return the file, between 0 and 7, or {@link #NONE}
+     */
+    static int file(char c) {
+        return c >= 'a' && c <= 'h' ? c - 'a' : NONE;
+    }
+
+    /**
+     * Gets the rank of a rank digit.
+     *
+     * @param c the rank digit, from '1' to '8'
+     * @return the rank, between 0 and 7, or {@link #NONE}
+     */
+    static int rank(char c) {
+        return c >= '1' && c <= '8' ? c - '1' : NONE;
+    }
+
+    /**
+     * Appends the coordinates of a square, e.g. "e4".
+     *
+     * @param text   the text being written
+     * @param square the square index
+     */
+    static void appendSquare(StringBuilder text, int square) {
+        text.append((char) ('a' + square % BOARD_SIZE)).append((char) ('1' + square / BOARD_SIZE));
+    }
+
+    /**
+     * Gets the castling flag of a castling move, written with letters "O" or
+     * digits "0".
+     *
+     * @param text  the text containing the move
+     * @param start the index of the first character of the move
+     * @param end   the index after the last character of the move, without
+     *              suffix
+     * @return the castling flag, or {@link #NONE} if the move is no castling
+     */
+    static int castlingFlag(CharSequence text, int start, int end) {
+        char o = text.charAt(start);
+        if (o != 'O' && o != '0') {
+            return NONE;
+        }
+        int length = end - start;
+        if (length != 3 && length != 5) {
+            return NONE;
+        }
+        for (int i = start; i < end; i++) {
+            char expected = (i - start) % 2 == 0 ? o : '-';
+            if (text.charAt(i) != expected) {
+                return NONE;
+            }
+        }
+        return length == 3 ? PackedMove.SHORT_CASTLING : PackedMove.LONG_CASTLING;
+    }
+
+    /**
+     * Checks if a packed move is a castling move.
+     *
+     * @param move the packed move
+     * @return true for short and long castling
+     */
+    static boolean isCastling(int move) {
+        int flag = PackedMove.flag(move);
+        return flag == PackedMove.SHORT_CASTLING || flag == PackedMove.LONG_CASTLING;
+    }
+
+    /**
+     * Checks if a character belongs to a check, checkmate or annotation suffix.
+     *
+     * @param c the character
+     * @return true if the character is ignored at the end of a move
+     */
+    static boolean isSuffix(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    /**
+     * Gets the index after the last character of a move, without its check,
+     * checkmate and annotation suffixes.
+     *
+     * @param text  the text containing the move
+     * @param start the index of the first character of the move
+     * @param end   the index after the last character of the move
+     * @return the index after the last character of the move without suffix
+     */
+    static int stripSuffix(CharSequence text, int start, int end) {
+        while (end > start && isSuffix(text.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Appends the check or checkmate suffix of a move, found by playing it on the
+     * board and undoing it.
+     *
+     * @param text  the text being written
+     * @param board the board the move is played on, left untouched
+     * @param move  the packed move
+     */
+    static void appendCheckSuffix(StringBuilder text, ChessBoard board, int move) {
+        ChessMove chessMove = PackedMove.toChessMove(board, move);
+        chessMove.execute(board);
+        LegalMoveGenerator opponent = board.getLegalMoveGenerator(board.getSideToMove());
+        if (opponent.isInCheck()) {
+            text.append(opponent.hasLegalMove() ? '+' : '#');
+        }
+        chessMove.undo(board);
+    }
+
+    /**
+     * Finds the castling move with the given flag among the legal moves.
+     *
+     * @param legalMoves the legal moves of the side to move
+     * @param flag       the castling flag
+     * @return the castling move, or {@link #NONE} if castling is not legal
+     */
+    static int findCastling(MoveList legalMoves, int flag) {
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (PackedMove.flag(legalMoves.get(i)) == flag) {
+                return legalMoves.get(i);
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Creates the exception thrown for a move that cannot be decoded.
+     *
+     * @param reason the reason
+     * @param text   the text containing the move
+     * @param start  the index of the first character of the move
+     * @param end    the index after the last character of the move
+     * @return the exception
+     */
+    static IllegalArgumentException invalid(String reason, CharSequence text, int start, int end) {
+        return new IllegalArgumentException(reason + ": " + text.subSequence(start, end));
+    }
+}
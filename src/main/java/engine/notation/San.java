@@ -0,0 +1,233 @@
+package engine.notation;
+
+import chess.PieceType;
+import engine.board.Bitboards;
+import engine.board.ChessBoard;
+import engine.board.ChessBoardReader;
+import engine.move.ChessMove;
+import engine.move.MoveList;
+import engine.move.PackedMove;
+
+import static engine.notation.Notation.BOARD_SIZE;
+import static engine.notation.Notation.NONE;
+
+/**
+ * Utility class for the Standard Algebraic Notation (SAN) of moves, e.g. "e4",
+ * "Nbd7", "exd6", "O-O" or "e8=Q+".
+ * Moves are decoded and encoded against the legal moves of the position,
+ * already generated as packed moves: decoding matches the text against them,
+ * and encoding disambiguates the moved piece from the other legal moves to the
+ * same square, so neither generates moves itself.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public abstract class San {
+
+    /**
+     * Decodes a move in SAN.
+     *
+     * @param board      the board the move is played on
+     * @param legalMoves the legal moves of the side to move
+     * @param san        the move in SAN
+     * @return the matching packed move
+     * @throws IllegalArgumentException if the move is malformed, illegal or
+     *                                  ambiguous
+     */
+    public static int parse(ChessBoardReader board, MoveList legalMoves, CharSequence san) {
+        return parse(board, legalMoves, san, 0, san.length());
+    }
+
+    /**
+     * Decodes a move in SAN into a {@link ChessMove}, ready to be executed.
+     *
+     * @param board      the board the move is played on
+     * @param legalMoves the legal moves of the side to move
+     * @param san        the move in SAN
+     * @return the matching chess move
+     * @throws IllegalArgumentException if the move is malformed, illegal or
+     *                                  ambiguous
+     */
+    public static ChessMove toChessMove(ChessBoardReader board, MoveList legalMoves, CharSequence san) {
+        return PackedMove.toChessMove(board, parse(board, legalMoves, san));
+    }
+
+    /**
+     * Decodes a move in SAN written in a part of a character sequence, such that
+     * moves can be decoded in place from a larger text.
+     * The capture sign is not checked and check, checkmate and annotation
+     * suffixes such as "+", "#" or "!?" are ignored.
+     *
+     * @param board      the board the move is played on
+     * @param legalMoves the legal moves of the side to move
+     * @param text       the text containing the move
+     * @param start      the index of the first character of the move
+     * @param end        the index after the last character of the move
+     * @return the matching packed move
+     * @throws IllegalArgumentException if the move is malformed, illegal or
+     *                                  ambiguous
+     */
+    public static int parse(ChessBoardReader board, MoveList legalMoves, CharSequence text, int start, int end) {
+        int moveEnd = end;
+        end = Notation.stripSuffix(text, start, end);
+        if (end - start < 2) {
+            throw Notation.invalid("Invalid SAN", text, start, moveEnd);
+        }
+
+        int castlingFlag = Notation.castlingFlag(text, start, end);
+        if (castlingFlag != NONE) {
+            int castling = Notation.findCastling(legalMoves, castlingFlag);
+            if (castling == NONE) {
+                throw Notation.invalid("Illegal move", text, start, moveEnd);
+            }
+            return castling;
+        }
+
+        PieceType promotion = null;
+        PieceType promotionLetter = Notation.pieceType(text.charAt(end - 1));
+        if (promotionLetter != null && promotionLetter != PieceType.KING && promotionLetter != PieceType.PAWN) {
+            promotion = promotionLetter;
+            end -= text.charAt(end - 2) == '=' ? 2 : 1;
+        }
+        if (end - start < 2) {
+            throw Notation.invalid("Invalid SAN", text, start, moveEnd);
+        }
+        int toFile = Notation.file(text.charAt(end - 2));
+        int toRank = Notation.rank(text.charAt(end - 1));
+        if (toFile == NONE || toRank == NONE) {
+            throw Notation.invalid("Invalid SAN", text, start, moveEnd);
+        }
+        int to = toRank * BOARD_SIZE + toFile;
+        end -= 2;
+
+        PieceType type = PieceType.PAWN;
+        int index = start;
+        if (index < end && Notation.pieceType(text.charAt(index)) != null) {
+            type = Notation.pieceType(text.charAt(index++));
+        }
+        int fromFile = NONE;
+        int fromRank = NONE;
+        if (index < end && Notation.file(text.charAt(index)) != NONE) {
+            fromFile = Notation.file(text.charAt(index++));
+        }
+        if (index < end && Notation.rank(text.charAt(index)) != NONE) {
+            fromRank = Notation.rank(text.charAt(index++));
+        }
+        if (index < end && (text.charAt(index) == 'x' || text.charAt(index) == ':')) {
+            index++;
+        }
+        if (index != end) {
+            throw Notation.invalid("Invalid SAN", text, start, moveEnd);
+        }
+
+        long pieces = board.getBitboard(type, board.getSideToMove());
+        int found = NONE;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            int from = PackedMove.from(move);
+            if (PackedMove.to(move) != to
+                    || (pieces & Bitboards.bit(from)) == 0
+                    || Notation.isCastling(move)
+                    || PackedMove.promotion(move) != promotion
+                    || (fromFile != NONE && from % BOARD_SIZE != fromFile)
+                    || (fromRank != NONE && from / BOARD_SIZE != fromRank)) {
+                continue;
+            }
+            if (found != NONE) {
+                throw Notation.invalid("Ambiguous move", text, start, moveEnd);
+            }
+            found = move;
+        }
+        if (found == NONE) {
+            throw Notation.invalid("Illegal move", text, start, moveEnd);
+        }
+        return found;
+    }
+
+    /**
+     * Encodes a move in SAN, with its check or checkmate suffix.
+     *
+     * @param board      the board the move is played on, left untouched
+     * @param legalMoves the legal moves of the side to move, containing the move
+     * @param move       the chess move
+     * @return the move in SAN
+     */
+    public static String format(ChessBoard board, MoveList legalMoves, ChessMove move) {
+        return format(board, legalMoves, PackedMove.encode(move));
+    }
+
+    /**
+     * Encodes a move in SAN, with its check or checkmate suffix.
+     * The origin file, rank or square is only written when another piece of the
+     * same type can legally move to the same square.
+     *
+     * @param board      the board the move is played on, left untouched
+     * @param legalMoves the legal moves of the side to move, containing the move
+     * @param move       the packed move
+     * @return the move in SAN
+     */
+    public static String format(ChessBoard board, MoveList legalMoves, int move) {
+        StringBuilder san = new StringBuilder(8);
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        if (Notation.isCastling(move)) {
+            san.append(PackedMove.flag(move) == PackedMove.SHORT_CASTLING ? "O-O" : "O-O-O");
+        } else {
+            PieceType type = board.get(Bitboards.position(from)).getType();
+            if (type == PieceType.PAWN) {
+                if (PackedMove.isCapture(move)) {
+                    san.append((char) ('a' + from % BOARD_SIZE));
+                }
+            } else {
+                san.append(Notation.pieceLetter(type));
+                appendDisambiguation(san, board.getBitboard(type, board.getSideToMove()), legalMoves, from, to);
+            }
+            if (PackedMove.isCapture(move)) {
+                san.append('x');
+            }
+            Notation.appendSquare(san, to);
+            if (PackedMove.isPromotion(move)) {
+                san.append('=').append(Notation.pieceLetter(PackedMove.promotion(move)));
+            }
+        }
+        Notation.appendCheckSuffix(san, board, move);
+        return san.toString();
+    }
+
+    /**
+     * Appends the origin file, rank or square of a piece move, if another piece
+     * of the same type can legally move to the same square.
+     *
+     * @param san        the move being written
+     * @param pieces     the bitboard of the pieces of the moved type and color
+     * @param legalMoves the legal moves of the side to move
+     * @param from       the origin square index of the move
+     * @param to         the destination square index of the move
+     */
+    private static void appendDisambiguation(StringBuilder san, long pieces, MoveList legalMoves, int from, int to) {
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int other = legalMoves.get(i);
+            int otherFrom = PackedMove.from(other);
+            if (PackedMove.to(other) != to || otherFrom == from || (pieces & Bitboards.bit(otherFrom)) == 0
+                    || Notation.isCastling(other)) {
+                continue;
+            }
+            ambiguous = true;
+            sameFile |= otherFrom % BOARD_SIZE == from % BOARD_SIZE;
+            sameRank |= otherFrom / BOARD_SIZE == from / BOARD_SIZE;
+        }
+        if (!ambiguous) {
+            return;
+        }
+        if (!sameFile) {
+            san.append((char) ('a' + from % BOARD_SIZE));
+        } else if (!sameRank) {
+            san.append((char) ('1' + from / BOARD_SIZE));
+        } else {
+            Notation.appendSquare(san, from);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package engine.perft;
+
+import engine.board.ChessBoard;
+import engine.board.LegalMoveGenerator;
+import engine.move.ChessMove;
+import engine.move.MoveList;
+import engine.move.PackedMove;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performance test (perft) driver, counting the leaf nodes of the legal move
+ * tree of a position up to a given depth.
+ * Moves are generated as packed moves by a single {@link LegalMoveGenerator}
+ * into one reusable {@link MoveList} per ply, and played by executing and
+ * undoing the corresponding {@link ChessMove} on the board. The last ply is
+ * only counted.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class Perft {
+    private final ChessBoard board;
+    private final LegalMoveGenerator generator;
+    private final List<MoveList> moveLists = new ArrayList<>();
+
+    /**
+     * Constructs a perft driver working on the given board.
+     *
+     * @param board the board, left untouched once a count returns
+     */
+    public Perft(ChessBoard board) {
+        this.board = board;
+        this.generator = board.getLegalMoveGenerator(board.getSideToMove());
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree at the given depth.
+     *
+     * @param depth the depth of the tree, must be positive
+     * @return the number of leaf nodes
+     * @throws IllegalArgumentException if the depth is not positive
+     */
+    public long perft(int depth) {
+        checkDepth(depth);
+        return perft(depth, 0);
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree at the given depth, split by
+     * root move.
+     *
+     * @param depth the depth of the tree, must be at least 1
+     * @return the number of leaf nodes below each root move, by move coordinates
+     * (e.g. "e2e4" or "e7e8q")
+     * @throws IllegalArgumentException if the depth is less than 1
+     */
+    public Map<String, Long> divide(int depth) {
+        checkDepth(depth);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        MoveList moves = legalMoves(0);
+        for (int i = 0; i < moves.size(); i++) {
+            ChessMove move = PackedMove.toChessMove(board, moves.get(i));
+            move.execute(board);
+            counts.merge(PackedMove.toString(moves.get(i)), perft(depth - 1, 1), Long::sum);
+            move.undo(board);
+        }
+        return counts;
+    }
+
+    /**
+     * Checks that a count reaches the leaves, which a depth below 1 never does.
+     *
+     * @param depth the requested depth
+     * @throws IllegalArgumentException if the depth is less than 1
+     */
+    private static void checkDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Invalid perft depth: " + depth);
+        }
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree at the given depth, below the
+     * given ply.
+     *
+     * @param depth the remaining depth
+     * @param ply   the distance to the root, selecting the move list to use
+     * @return the number of leaf nodes
+     */
+    private long perft(int depth, int ply) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = legalMoves(ply);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            ChessMove move = PackedMove.toChessMove(board, moves.get(i));
+            move.execute(board);
+            nodes += perft(depth - 1, ply + 1);
+            move.undo(board);
+        }
+        return nodes;
+    }
+
+    /**
+     * Generates the legal moves of the side to move into the move list of the
+     * given ply.
+     *
+     * @param ply the distance to the root
+     * @return the move list of the ply, filled with the legal moves
+     */
+    private MoveList legalMoves(int ply) {
+        while (moveLists.size() <= ply) {
+            moveLists.add(new MoveList());
+        }
+        MoveList moves = moveLists.get(ply);
+        generator.reset(board.getSideToMove());
+        generator.generate(moves);
+        return moves;
+    }
+}
@@ -0,0 +1,136 @@
+package engine.perft;
+
+import engine.board.BitboardChessBoard;
+import engine.board.ChessBoard;
+import engine.board.ChessBoardInitializer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs perft on a suite of reference positions with known node counts, reporting
+ * the result and the throughput of each count.
+ * <p>
+ * Usage:
+ * <ul>
+ * <li>{@code PerftSuite [maxDepth]} runs the whole suite up to the given depth</li>
+ * <li>{@code PerftSuite depth "fen"} prints the divide output of a position</li>
+ * </ul>
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class PerftSuite {
+    private static final int DEFAULT_MAX_DEPTH = 3;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Reference positions and their node counts from depth 1, see
+     * <a href="https://www.chessprogramming.org/Perft_Results">Perft Results</a>.
+     */
+    private static final List<PerftPosition> POSITIONS = List.of(
+            new PerftPosition("Initial position",
+                    "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                    20, 400, 8902, 197281, 4865609),
+            new PerftPosition("Kiwipete",
+                    "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48, 2039, 97862, 4085603),
+            new PerftPosition("En passant and discovered checks",
+                    "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14, 191, 2812, 43238, 674624),
+            new PerftPosition("Promotions and castling rights",
+                    "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6, 264, 9467, 422333),
+            new PerftPosition("Promotion with capture and check",
+                    "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    44, 1486, 62379, 2103487),
+            new PerftPosition("Symmetrical middlegame",
+                    "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46, 2079, 89890, 3894594));
+
+    /**
+     * Entry point of the perft suite. Exits with status 1 if a count differs.
+     *
+     * @param args either nothing, the maximum depth, or a depth and a FEN string
+     */
+    public static void main(String[] args) {
+        if (args.length >= 2) {
+            divide(String.join(" ", List.of(args).subList(1, args.length)), Integer.parseInt(args[0]));
+            return;
+        }
+        int maxDepth = args.length == 1 ? Integer.parseInt(args[0]) : DEFAULT_MAX_DEPTH;
+        int failures = 0;
+        for (PerftPosition position : POSITIONS) {
+            failures += runPosition(position, maxDepth);
+        }
+        System.out.println(failures == 0 ? "All counts match" : failures + " count(s) differ");
+        if (failures != 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs perft on a reference position for each known depth up to the maximum
+     * depth.
+     *
+     * @param position the reference position
+     * @param maxDepth the maximum depth
+     * @return the number of counts differing from the expected ones
+     */
+    private static int runPosition(PerftPosition position, int maxDepth) {
+        System.out.println(position.name() + " [" + position.fen() + "]");
+        int failures = 0;
+        for (int depth = 1; depth <= Math.min(maxDepth, position.expected().length); depth++) {
+            Perft perft = new Perft(createBoard(position.fen()));
+            long start = System.nanoTime();
+            long nodes = perft.perft(depth);
+            long elapsed = Math.max(System.nanoTime() - start, 1);
+            long expected = position.expected()[depth - 1];
+            if (nodes != expected) {
+                failures++;
+            }
+            System.out.printf("  depth %d: %10d nodes (expected %10d) %s %8.1f ms %12d nps%n", depth, nodes,
+                    expected, nodes == expected ? "OK  " : "FAIL", elapsed / 1e6, nodes * NANOS_PER_SECOND / elapsed);
+        }
+        return failures;
+    }
+
+    /**
+     * Prints the divide output of a position.
+     *
+     * @param fen   the FEN string of the position
+     * @param depth the depth of the count
+     */
+    private static void divide(String fen, int depth) {
+        Perft perft = new Perft(createBoard(fen));
+        long total = 0;
+        for (Map.Entry<String, Long> entry : perft.divide(depth).entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        System.out.println();
+        System.out.println("Nodes searched: " + total);
+    }
+
+    /**
+     * Creates a board initialized with the given position.
+     *
+     * @param fen the FEN string of the position
+     * @return the initialized board
+     */
+    private static ChessBoard createBoard(String fen) {
+        ChessBoard board = new BitboardChessBoard();
+        ChessBoardInitializer.initializeBoard(board, fen);
+        return board;
+    }
+
+    /**
+     * A reference position with its expected node counts.
+     *
+     * @param name     the name of the position
+     * @param fen      the FEN string of the position
+     * @param expected the expected node counts, starting from depth 1
+     */
+    private record PerftPosition(String name, String fen, long... expected) {
+    }
+}
@@ -0,0 +1,87 @@
+package engine.pgn;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A read-only view of a part of a byte buffer as ISO-8859-1 characters, such
+ * that a memory-mapped PGN file can be parsed without decoding nor copying it.
+ * PGN files are ASCII, other bytes only appear in tag values and comments,
+ * which are not interpreted.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+final class MappedText implements CharSequence {
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    /**
+     * Creates a view of a part of a byte buffer.
+     *
+     * @param buffer the buffer, only read with absolute gets so that it can be
+     *               shared between threads
+     * @param offset the index of the first byte of the view
+     * @param length the number of bytes of the view
+     */
+    MappedText(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Gets the number of characters of the view.
+     *
+     * @return the length of the view
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets a character of the view.
+     *
+     * @param index the index of the character
+     * @return the character
+     * @throws IndexOutOfBoundsException if the index is out of the view
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of length " + length);
+        }
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    /**
+     * Gets a view of a part of this view, sharing the same buffer.
+     *
+     * @param start the index of the first character
+     * @param end   the index after the last character
+     * @return the view of the part
+     * @throws IndexOutOfBoundsException if the part is out of the view
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of length " + length);
+        }
+        return new MappedText(buffer, offset + start, end - start);
+    }
+
+    /**
+     * Copies the characters of the view into a string.
+     *
+     * @return the text of the view
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(charAt(i));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,14 @@
+package engine.pgn;
+
+/**
+ * The text of a single game of a PGN file, its tag pairs followed by its
+ * movetext.
+ *
+ * @param number the number of the game in the file, starting at 1
+ * @param offset the offset of the game in the file, in bytes
+ * @param text   the text of the game, a view of the file that is not copied
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public record PgnGame(long number, long offset, CharSequence text) {
+}
@@ -0,0 +1,147 @@
+package engine.pgn;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Validates the games of a PGN file in parallel: the file is split into games
+ * by a {@link PgnReader} on the calling thread, and the games are replayed by a
+ * pool of worker threads, each with its own {@link PgnReplayer}.
+ * The number of games waiting to be replayed is bounded, such that the reader
+ * never runs far ahead of the workers.
+ * <p>
+ * Usage: {@code PgnImport file.pgn [threads]} prints the invalid games and the
+ * throughput of the import.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class PgnImport {
+    private static final int PENDING_GAMES_PER_THREAD = 256;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final int threads;
+
+    /**
+     * Creates an import using the given number of worker threads.
+     *
+     * @param threads the number of worker threads
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public PgnImport(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Entry point of the import.
+     *
+     * @param args the path of the PGN file, optionally followed by the number of
+     *             worker threads, all the available processors by default
+     * @throws IOException          if the file cannot be read
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.out.println("Usage: PgnImport file.pgn [threads]");
+            return;
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Report report = new PgnImport(threads).run(Path.of(args[0]), result -> {
+            if (!result.valid()) {
+                System.out.println("Game " + result.game() + ": " + result.error());
+            }
+        });
+        System.out.println(report);
+    }
+
+    /**
+     * Replays all the games of a PGN file.
+     *
+     * @param path     the path of the PGN file
+     * @param listener the listener notified of the outcome of each game, called
+     *                 concurrently from the worker threads
+     * @return the summary of the import
+     * @throws IOException          if the file cannot be read
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public Report run(Path path, Consumer<ReplayResult> listener) throws IOException, InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        ThreadLocal<PgnReplayer> replayers = ThreadLocal.withInitial(PgnReplayer::new);
+        Semaphore pendingGames = new Semaphore(threads * PENDING_GAMES_PER_THREAD);
+        LongAdder validGames = new LongAdder();
+        LongAdder plies = new LongAdder();
+
+        long start = System.nanoTime();
+        long games;
+        try (PgnReader reader = new PgnReader(path)) {
+            games = reader.forEachGame(game -> {
+                pendingGames.acquireUninterruptibly();
+                workers.execute(() -> {
+                    try {
+                        ReplayResult result = replayers.get().replay(game);
+                        if (result.valid()) {
+                            validGames.increment();
+                        }
+                        plies.add(result.plies());
+                        listener.accept(result);
+                    } finally {
+                        pendingGames.release();
+                    }
+                });
+            });
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return new Report(games, validGames.sum(), plies.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * The summary of an import.
+     *
+     * @param games      the number of games read
+     * @param validGames the number of games whose moves are all legal
+     * @param plies      the number of moves replayed
+     * @param nanos      the duration of the import, in nanoseconds
+     */
+    public record Report(long games, long validGames, long plies, long nanos) {
+        /**
+         * Gets the number of games replayed per second.
+         *
+         * @return the game throughput
+         */
+        public double gamesPerSecond() {
+            return games * (double) NANOS_PER_SECOND / Math.max(nanos, 1);
+        }
+
+        /**
+         * Gets the number of moves replayed per second.
+         *
+         * @return the move throughput
+         */
+        public double pliesPerSecond() {
+            return plies * (double) NANOS_PER_SECOND / Math.max(nanos, 1);
+        }
+
+        /**
+         * Formats the summary on one line.
+         *
+         * @return the summary
+         */
+        @Override
+        public String toString() {
+            return String.format("%d games, %d valid, %d invalid, %d plies in %.2f s (%.0f games/s, %.0f plies/s)",
+                    games, validGames, games - validGames, plies, nanos / (double) NANOS_PER_SECOND,
+                    gamesPerSecond(), pliesPerSecond());
+        }
+    }
+}
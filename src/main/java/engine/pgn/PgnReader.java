@@ -0,0 +1,182 @@
+package engine.pgn;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Splits a PGN file into games, memory-mapping it one window at a time such that
+ * files of any size are streamed with a bounded memory footprint.
+ * A game starts at a tag pair line, "[Name "value"]", following the movetext of
+ * the previous game. The games are handed out as views of the mapped window,
+ * which stays mapped as long as one of its games is referenced.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class PgnReader implements AutoCloseable {
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final FileChannel channel;
+    private final int windowSize;
+    private long games;
+
+    /**
+     * Opens a PGN file with the default window size.
+     *
+     * @param path the path of the PGN file
+     * @throws IOException if the file cannot be opened
+     */
+    public PgnReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens a PGN file.
+     *
+     * @param path       the path of the PGN file
+     * @param windowSize the number of bytes mapped at once, grown for a game that
+     *                   does not fit
+     * @throws IOException              if the file cannot be opened
+     * @throws IllegalArgumentException if the window size is not positive
+     */
+    public PgnReader(Path path, int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The window size must be positive: " + windowSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Reads the games of the file in order and hands them to the consumer, on the
+     * calling thread.
+     *
+     * @param consumer the consumer of the games
+     * @return the number of games read
+     * @throws IOException if the file cannot be read, or a game does not fit in
+     *                     the largest window
+     */
+    public long forEachGame(Consumer<PgnGame> consumer) throws IOException {
+        games = 0;
+        long size = channel.size();
+        long position = hasBom() ? UTF8_BOM.length : 0;
+        int window = windowSize;
+        while (position < size) {
+            int length = (int) Math.min(window, size - position);
+            boolean last = position + length == size;
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int consumed = split(buffer, position, length, last, consumer);
+            if (consumed == 0) {
+                if (window == Integer.MAX_VALUE) {
+                    throw new IOException("Game too large at offset " + position);
+                }
+                window = (int) Math.min(2L * window, Integer.MAX_VALUE);
+            } else {
+                position += consumed;
+                window = windowSize;
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Closes the file. The games already read stay readable.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Hands out the complete games of a mapped window.
+     *
+     * @param buffer   the mapped window
+     * @param position the offset of the window in the file
+     * @param length   the length of the window
+     * @param last     true if the window reaches the end of the file
+     * @param consumer the consumer of the games
+     * @return the number of bytes of the window covered by the games handed out,
+     * the next window starts after them
+     */
+    private int split(ByteBuffer buffer, long position, int length, boolean last, Consumer<PgnGame> consumer) {
+        int gameStart = 0;
+        boolean inMovetext = false;
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (lineEnd == length && !last) {
+                // The line may continue in the next window
+                break;
+            }
+            byte first = buffer.get(lineStart);
+            if (first == '[') {
+                if (inMovetext) {
+                    emit(buffer, position, gameStart, lineStart, consumer);
+                    gameStart = lineStart;
+                    inMovetext = false;
+                }
+            } else if (first != '%' && !isBlank(buffer, lineStart, lineEnd)) {
+                inMovetext = true;
+            }
+            lineStart = lineEnd + 1;
+        }
+        if (last) {
+            emit(buffer, position, gameStart, length, consumer);
+            return length;
+        }
+        return gameStart;
+    }
+
+    /**
+     * Hands out a game, unless its text is blank.
+     *
+     * @param buffer   the mapped window
+     * @param position the offset of the window in the file
+     * @param start    the index of the first byte of the game in the window
+     * @param end      the index after the last byte of the game in the window
+     * @param consumer the consumer of the games
+     */
+    private void emit(ByteBuffer buffer, long position, int start, int end, Consumer<PgnGame> consumer) {
+        if (!isBlank(buffer, start, end)) {
+            consumer.accept(new PgnGame(++games, position + start, new MappedText(buffer, start, end - start)));
+        }
+    }
+
+    /**
+     * Checks if a part of a window only contains whitespace.
+     *
+     * @param buffer the mapped window
+     * @param start  the index of the first byte
+     * @param end    the index after the last byte
+     * @return true if all the bytes are whitespace
+     */
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if ((buffer.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the file starts with a UTF-8 byte order mark.
+     *
+     * @return true if the file starts with a byte order mark
+     * @throws IOException if the file cannot be read
+     */
+    private boolean hasBom() throws IOException {
+        ByteBuffer start = ByteBuffer.allocate(UTF8_BOM.length);
+        return channel.read(start, 0) == UTF8_BOM.length && ByteBuffer.wrap(UTF8_BOM).equals(start.flip());
+    }
+}
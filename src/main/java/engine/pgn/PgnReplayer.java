@@ -0,0 +1,319 @@
+package engine.pgn;
+
+import engine.board.BitboardChessBoard;
+import engine.board.ChessBoard;
+import engine.board.ChessBoardInitializer;
+import engine.board.LegalMoveGenerator;
+import engine.move.MoveList;
+import engine.move.PackedMove;
+import engine.notation.San;
+
+/**
+ * Replays PGN games on a board, checking that every move is legal.
+ * The tag pairs and the movetext are read in place: the moves are decoded from
+ * the text with {@link San} against the legal moves of each position, without
+ * copying them. Comments, variations, move numbers and annotations are skipped.
+ * A replayer reuses its board and move list from one game to the next, so it
+ * must only be used by one thread at a time.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class PgnReplayer {
+    private static final String FEN_TAG = "FEN";
+
+    private final ChessBoard board = new BitboardChessBoard();
+    private final LegalMoveGenerator generator;
+    private final MoveList legalMoves = new MoveList();
+
+    /**
+     * Creates a replayer with its own board.
+     */
+    public PgnReplayer() {
+        ChessBoardInitializer.initializeBoard(board);
+        generator = board.getLegalMoveGenerator(board.getSideToMove());
+    }
+
+    /**
+     * Replays a game from the standard starting position, or from the position
+     * of its "FEN" tag if any, up to its result or its first invalid move.
+     *
+     * @param game the game to replay
+     * @return the outcome of the replay, invalid if the replay failed for any
+     * reason
+     */
+    public ReplayResult replay(PgnGame game) {
+        CharSequence text = game.text();
+        int index;
+        try {
+            index = readTags(text);
+        } catch (RuntimeException e) {
+            return new ReplayResult(game.number(), false, 0, describe(e));
+        }
+
+        int plies = 0;
+        try {
+            while (index < text.length()) {
+                char c = text.charAt(index);
+                if (c <= ' ' || c == ')') {
+                    index++;
+                } else if (c == '{') {
+                    index = skipPast(text, index, '}');
+                } else if (c == ';' || c == '%') {
+                    index = skipPast(text, index, '\n');
+                } else if (c == '(') {
+                    index = skipVariation(text, index);
+                } else if (c == '$') {
+                    index = skipDigits(text, index + 1);
+                } else {
+                    int end = tokenEnd(text, index);
+                    if (isResult(text, index, end)) {
+                        break;
+                    }
+                    int numberEnd = skipDigits(text, index);
+                    if (numberEnd < end && text.charAt(numberEnd) == '.') {
+                        // A move number, "12." or "12...", possibly glued to the move
+                        index = numberEnd;
+                        while (index < end && text.charAt(index) == '.') {
+                            index++;
+                        }
+                    } else {
+                        if (!regionEquals(text, index, end, "e.p.")) {
+                            play(text, index, end);
+                            plies++;
+                        }
+                        index = end;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // Any failure only invalidates this game, whatever its text contains
+            return new ReplayResult(game.number(), false, plies, "Ply " + (plies + 1) + ": " + describe(e));
+        }
+        return new ReplayResult(game.number(), true, plies, null);
+    }
+
+    /**
+     * Describes the failure of a replay.
+     *
+     * @param e the exception thrown while replaying
+     * @return the message of an invalid game, or the type and message of an
+     * unexpected failure
+     */
+    private static String describe(RuntimeException e) {
+        return e instanceof IllegalArgumentException ? e.getMessage() : e.toString();
+    }
+
+    /**
+     * Reads the tag pairs of a game and sets up the board with the starting
+     * position of the game.
+     *
+     * @param text the text of the game
+     * @return the index of the movetext
+     * @throws IllegalArgumentException if a tag pair or the FEN tag is malformed
+     */
+    private int readTags(CharSequence text) {
+        CharSequence fen = null;
+        int index = skipWhitespace(text, 0);
+        while (index < text.length() && text.charAt(index) == '[') {
+            int lineEnd = indexOf(text, '\n', index);
+            int nameEnd = index + 1;
+            while (nameEnd < lineEnd && text.charAt(nameEnd) > ' ') {
+                nameEnd++;
+            }
+            int valueStart = indexOf(text, '"', nameEnd) + 1;
+            int valueEnd = lastIndexOf(text, '"', lineEnd);
+            if (valueStart > lineEnd || valueEnd < valueStart) {
+                throw new IllegalArgumentException("Invalid tag pair: " + text.subSequence(index, lineEnd));
+            }
+            if (regionEquals(text, index + 1, nameEnd, FEN_TAG)) {
+                fen = text.subSequence(valueStart, valueEnd);
+            }
+            index = skipWhitespace(text, lineEnd);
+        }
+        if (fen == null) {
+            ChessBoardInitializer.initializeBoard(board);
+        } else {
+            ChessBoardInitializer.initializeBoard(board, fen);
+        }
+        return index;
+    }
+
+    /**
+     * Plays a move written in SAN on the board.
+     *
+     * @param text  the text containing the move
+     * @param start the index of the first character of the move
+     * @param end   the index after the last character of the move
+     * @throws IllegalArgumentException if the move is malformed, illegal or
+     *                                  ambiguous
+     */
+    private void play(CharSequence text, int start, int end) {
+        generator.reset(board.getSideToMove());
+        generator.generate(legalMoves);
+        int move = San.parse(board, legalMoves, text, start, end);
+        PackedMove.toChessMove(board, move).execute(board);
+    }
+
+    /**
+     * Skips a variation, which may contain comments and nested variations.
+     *
+     * @param text  the text of the game
+     * @param index the index of the opening parenthesis
+     * @return the index after the closing parenthesis
+     * @throws IllegalArgumentException if the variation is not closed
+     */
+    private static int skipVariation(CharSequence text, int index) {
+        int depth = 0;
+        do {
+            char c = text.charAt(index);
+            if (c == '{') {
+                index = skipPast(text, index, '}');
+                continue;
+            }
+            if (c == ';') {
+                index = skipPast(text, index, '\n');
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+            index++;
+        } while (depth > 0 && index < text.length());
+        if (depth > 0) {
+            throw new IllegalArgumentException("Unterminated variation");
+        }
+        return index;
+    }
+
+    /**
+     * Skips the text up to and including the given character.
+     *
+     * @param text  the text of the game
+     * @param index the index to start from
+     * @param last  the last character to skip
+     * @return the index after the character, or the length of the text for a
+     * line end
+     * @throws IllegalArgumentException if a comment is not closed
+     */
+    private static int skipPast(CharSequence text, int index, char last) {
+        int end = indexOf(text, last, index);
+        if (end == text.length() && last != '\n') {
+            throw new IllegalArgumentException("Unterminated comment");
+        }
+        return Math.min(end + 1, text.length());
+    }
+
+    /**
+     * Skips the digits starting at an index.
+     *
+     * @param text  the text of the game
+     * @param index the index to start from
+     * @return the index of the first character that is not a digit
+     */
+    private static int skipDigits(CharSequence text, int index) {
+        while (index < text.length() && Character.isDigit(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Skips the whitespace starting at an index.
+     *
+     * @param text  the text of the game
+     * @param index the index to start from
+     * @return the index of the first character that is not whitespace
+     */
+    private static int skipWhitespace(CharSequence text, int index) {
+        while (index < text.length() && text.charAt(index) <= ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Finds the end of a movetext token.
+     *
+     * @param text  the text of the game
+     * @param index the index of the first character of the token
+     * @return the index after the last character of the token
+     */
+    private static int tokenEnd(CharSequence text, int index) {
+        while (index < text.length()) {
+            char c = text.charAt(index);
+            if (c <= ' ' || c == '{' || c == '(' || c == ')' || c == ';' || c == '$') {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Checks if a token is a game termination marker.
+     *
+     * @param text  the text of the game
+     * @param start the index of the first character of the token
+     * @param end   the index after the last character of the token
+     * @return true for "1-0", "0-1", "1/2-1/2" and "*"
+     */
+    private static boolean isResult(CharSequence text, int start, int end) {
+        return regionEquals(text, start, end, "1-0") || regionEquals(text, start, end, "0-1")
+                || regionEquals(text, start, end, "1/2-1/2") || regionEquals(text, start, end, "*");
+    }
+
+    /**
+     * Checks if a part of a text is equal to a string, without copying it.
+     *
+     * @param text  the text
+     * @param start the index of the first character of the part
+     * @param end   the index after the last character of the part
+     * @param s     the string to compare to
+     * @return true if the part and the string are equal
+     */
+    private static boolean regionEquals(CharSequence text, int start, int end, String s) {
+        if (end - start != s.length()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (text.charAt(start + i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first occurrence of a character from an index.
+     *
+     * @param text  the text
+     * @param c     the character
+     * @param index the index to start from
+     * @return the index of the character, or the length of the text if absent
+     */
+    private static int indexOf(CharSequence text, char c, int index) {
+        while (index < text.length() && text.charAt(index) != c) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Finds the last occurrence of a character before an index.
+     *
+     * @param text the text
+     * @param c    the character
+     * @param end  the index to search before
+     * @return the index of the character, or -1 if absent
+     */
+    private static int lastIndexOf(CharSequence text, char c, int end) {
+        int index = end - 1;
+        while (index >= 0 && text.charAt(index) != c) {
+            index--;
+        }
+        return index;
+    }
+}
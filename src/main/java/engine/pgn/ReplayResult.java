@@ -0,0 +1,14 @@
+package engine.pgn;
+
+/**
+ * The outcome of replaying a PGN game.
+ *
+ * @param game  the number of the game in the file, starting at 1
+ * @param valid true if every move of the game is legal
+ * @param plies the number of moves replayed, up to the first invalid one
+ * @param error the reason the game is invalid, or null if it is valid
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public record ReplayResult(long game, boolean valid, int plies, String error) {
+}
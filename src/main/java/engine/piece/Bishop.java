@@ -2,8 +2,7 @@ package engine.piece;
 
 import chess.PieceType;
 import chess.PlayerColor;
-import engine.generator.Direction;
-import engine.generator.DirectionalGenerator;
+import engine.generator.SlidingGenerator;
 
 /**
  * Represents the Bishop chess piece.
@@ -17,11 +16,11 @@ public final class Bishop extends PromotableChessPiece {
 
     /**
      * Constructs a Bishop chess piece with the specified color.
-     * Uses a {@link DirectionalGenerator} limited to diagonal movements.
+     * Uses a {@link SlidingGenerator} limited to diagonal movements.
      *
      * @param color the color of the Bishop
      */
-    public Bishop(PlayerColor color) {
-        super(PieceType.BISHOP, color, new DirectionalGenerator(Direction.DIAGONAL));
+    Bishop(PlayerColor color) {
+        super(PieceType.BISHOP, color, SlidingGenerator.DIAGONAL);
     }
 }
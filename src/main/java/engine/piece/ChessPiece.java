@@ -2,26 +2,27 @@ package engine.piece;
 
 import chess.PieceType;
 import chess.PlayerColor;
+import engine.board.Bitboards;
 import engine.board.ChessBoardReader;
 import engine.generator.MoveGenerator;
 import engine.move.Moves;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Represents a chess piece with associated type, color, and movement
  * generators.
- * Provides functionality to track movement and generate possible moves.
+ * Pieces are immutable and there is a single shared instance per type and
+ * color, obtained with {@link #of(PieceType, PlayerColor)}. Whether a king or a
+ * rook moved is tracked by the board's {@link engine.board.GameState}.
  *
  * @author Leonard Cseres
  * @author Aladin Iseni
  */
-public abstract class ChessPiece implements Cloneable {
+public abstract class ChessPiece {
     protected final PieceType type;
     protected final PlayerColor color;
-    private List<MoveGenerator> generators;
-    private boolean hasMoved = false;
+    private final List<MoveGenerator> generators;
 
     /**
      * Constructs a chess piece with specified type, color, and movement generators.
@@ -30,12 +31,23 @@ public abstract class ChessPiece implements Cloneable {
      * @param color      the color of the chess piece
      * @param generators the movement generators defining how the piece moves
      */
-    public ChessPiece(PieceType type, PlayerColor color, MoveGenerator... generators) {
+    ChessPiece(PieceType type, PlayerColor color, MoveGenerator... generators) {
         this.type = type;
         this.color = color;
         this.generators = List.of(generators);
     }
 
+    /**
+     * Gets the shared chess piece of the given type and color.
+     *
+     * @param type  the type of the chess piece
+     * @param color the color of the chess piece
+     * @return the chess piece
+     */
+    public static ChessPiece of(PieceType type, PlayerColor color) {
+        return Flyweights.PIECES[Bitboards.pieceKind(type, color)];
+    }
+
     /**
      * Gets the type of the chess piece.
      *
@@ -64,22 +76,6 @@ public abstract class ChessPiece implements Cloneable {
         return color != other.color;
     }
 
-    /**
-     * Marks the piece has moved.
-     */
-    public void markMoved() {
-        this.hasMoved = true;
-    }
-
-    /**
-     * Checks if the piece has moved at least once.
-     *
-     * @return true if the piece has moved, false otherwise
-     */
-    public boolean hasMoved() {
-        return hasMoved;
-    }
-
     /**
      * Generates all possible moves for the chess piece from a given position on the
      * board.
@@ -91,32 +87,42 @@ public abstract class ChessPiece implements Cloneable {
     public Moves getPossibleMoves(ChessBoardReader board, Position from) {
         Moves moves = new Moves();
         for (MoveGenerator gen : generators) {
-            moves.extendMoves(gen.generate(board, from));
+            moves.extendMoves(gen.generate(board, from, this));
         }
         return moves;
     }
 
     /**
-     * Creates a deep clone of the chess piece, preserving its movement state.
-     *
-     * @return a cloned instance of the chess piece
-     * @throws AssertionError if the clone failed. We assert it won't happen
+     * Holder of the shared pieces, created on first use such that the subclasses
+     * are not initialized while this class is.
      */
-    @Override
-    public ChessPiece clone() {
-        try {
-            ChessPiece clonedPiece = (ChessPiece) super.clone();
-            clonedPiece.hasMoved = this.hasMoved;
+    private static final class Flyweights {
+        private static final ChessPiece[] PIECES = new ChessPiece[Bitboards.PIECE_KINDS];
 
-            List<MoveGenerator> clonedGenerators = new ArrayList<>();
-            for (MoveGenerator generator : this.generators) {
-                clonedGenerators.add(generator.clone());
+        static {
+            for (PlayerColor color : PlayerColor.values()) {
+                for (PieceType type : PieceType.values()) {
+                    PIECES[Bitboards.pieceKind(type, color)] = create(type, color);
+                }
             }
-            clonedPiece.generators = clonedGenerators;
+        }
 
-            return clonedPiece;
-        } catch (CloneNotSupportedException e) {
-            throw new AssertionError("Cloning failed", e);
+        /**
+         * Creates the chess piece of the given type and color.
+         *
+         * @param type  the type of the chess piece
+         * @param color the color of the chess piece
+         * @return the new chess piece
+         */
+        private static ChessPiece create(PieceType type, PlayerColor color) {
+            return switch (type) {
+                case PAWN -> new Pawn(color);
+                case KNIGHT -> new Knight(color);
+                case BISHOP -> new Bishop(color);
+                case ROOK -> new Rook(color);
+                case QUEEN -> new Queen(color);
+                case KING -> new King(color);
+            };
         }
     }
 }
@@ -4,8 +4,7 @@ import chess.PieceType;
 import chess.PlayerColor;
 import engine.board.ChessBoardReader;
 import engine.generator.Direction;
-import engine.generator.DirectionalGenerator;
-import engine.generator.DistanceGenerator;
+import engine.generator.KingGenerator;
 import engine.move.LongCastling;
 import engine.move.Moves;
 import engine.move.ShortCastling;
@@ -22,12 +21,12 @@ public final class King extends ChessPiece {
 
     /**
      * Constructs a King chess piece with the specified color.
-     * Uses a {@link DistanceGenerator} limited to one square and all directions.
+     * Uses a {@link KingGenerator} for the one square moves in all directions.
      *
      * @param color the color of the King
      */
-    public King(PlayerColor color) {
-        super(PieceType.KING, color, new DistanceGenerator(1, new DirectionalGenerator(Direction.ALL)));
+    King(PlayerColor color) {
+        super(PieceType.KING, color, KingGenerator.INSTANCE);
     }
 
     /**
@@ -75,7 +74,7 @@ public final class King extends ChessPiece {
 
     /**
      * Determines if the King can castle with the Rook at the given positions.
-     * The King and Rook must not have moved, the squares between them must be
+     * The player must hold the castling right, the squares between them must be
      * empty and not attacked, and the King must not currently be in check.
      *
      * @param board the chess board
@@ -84,11 +83,10 @@ public final class King extends ChessPiece {
      * @return true if the King can castle, false otherwise
      */
     private boolean canCastle(ChessBoardReader board, Position from, Position to) {
-        if (hasMoved()) {
+        Direction direction = to.x() > from.x() ? Direction.RIGHT : Direction.LEFT;
+        if (!board.getGameState().hasCastlingRight(color, direction == Direction.RIGHT)) {
             return false;
         }
-
-        Direction direction = to.x() > from.x() ? Direction.RIGHT : Direction.LEFT;
         Position rookPosition = getRookPosition(from, direction);
         ChessPiece rook = board.get(rookPosition);
 
@@ -113,18 +111,18 @@ public final class King extends ChessPiece {
 
     /**
      * Checks if the Rook at the given position is valid for castling.
-     * The Rook must exist, must not have moved, and must be of type ROOK.
+     * The Rook must exist and be a rook of the King's color.
      *
      * @param rook the chess piece at the Rook's position
      * @return true if the Rook is valid for castling, false otherwise
      */
     private boolean isValidRook(ChessPiece rook) {
-        return rook != null && !rook.hasMoved() && rook.getType() == PieceType.ROOK;
+        return rook == ChessPiece.of(PieceType.ROOK, color);
     }
 
     /**
-     * Checks if the squares between the King and the Rook are both empty and not
-     * attacked.
+     * Checks if the squares between the King and the Rook are empty, and if the
+     * squares the King crosses are not attacked.
      *
      * @param board     the chess board
      * @param from      the position of the King
@@ -136,7 +134,11 @@ public final class King extends ChessPiece {
             Direction direction) {
         Position current = direction.add(from, color);
         while (!current.equals(rookPos)) {
-            if (board.containsKey(current) || board.isSquareAttacked(current, color, PieceType.KING)) {
+            if (board.containsKey(current)) {
+                return false;
+            }
+            // The King only crosses two squares, the last one of a long castling must only be empty
+            if (from.dist(current) <= 2 && board.isSquareAttacked(current, color, null)) {
                 return false;
             }
             current = direction.add(current, color);
@@ -20,7 +20,7 @@ public final class Knight extends PromotableChessPiece {
      *
      * @param color the color of the Knight
      */
-    public Knight(PlayerColor color) {
-        super(PieceType.KNIGHT, color, new KnightGenerator());
+    Knight(PlayerColor color) {
+        super(PieceType.KNIGHT, color, KnightGenerator.INSTANCE);
     }
 }
@@ -5,6 +5,8 @@ import chess.PieceType;
 import chess.PlayerColor;
 import engine.generator.MoveGenerator;
 
+import java.util.List;
+
 /**
  * Represents a promotable chess piece (e.g., pawn promotion) that can be chosen
  * by the user during gameplay.
@@ -14,6 +16,13 @@ import engine.generator.MoveGenerator;
  * @author Aladin Iseni
  */
 public abstract class PromotableChessPiece extends ChessPiece implements ChessView.UserChoice {
+    /**
+     * The piece types a pawn can be promoted to, from the strongest to the
+     * weakest.
+     */
+    public static final List<PieceType> TYPES = List.of(PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+            PieceType.KNIGHT);
+
     /**
      * Constructs a promotable chess piece with a specified type, color, and move
      * generators.
@@ -22,10 +31,25 @@ public abstract class PromotableChessPiece extends ChessPiece implements ChessVi
      * @param color          the color of the chess piece
      * @param validationList the move generators for the piece
      */
-    public PromotableChessPiece(PieceType type, PlayerColor color, MoveGenerator... validationList) {
+    PromotableChessPiece(PieceType type, PlayerColor color, MoveGenerator... validationList) {
         super(type, color, validationList);
     }
 
+    /**
+     * Gets the shared promotable chess piece of the given type.
+     *
+     * @param type  the type of the piece, one of {@link #TYPES}
+     * @param color the color of the piece
+     * @return the chess piece
+     * @throws IllegalArgumentException if a pawn cannot be promoted to the type
+     */
+    public static PromotableChessPiece of(PieceType type, PlayerColor color) {
+        if (!TYPES.contains(type)) {
+            throw new IllegalArgumentException("Cannot promote to " + type);
+        }
+        return (PromotableChessPiece) ChessPiece.of(type, color);
+    }
+
     /**
      * Provides a string representation of the piece's type for display purposes.
      *
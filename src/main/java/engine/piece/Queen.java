@@ -2,8 +2,7 @@ package engine.piece;
 
 import chess.PieceType;
 import chess.PlayerColor;
-import engine.generator.Direction;
-import engine.generator.DirectionalGenerator;
+import engine.generator.SlidingGenerator;
 
 /**
  * Represents the Queen chess piece.
@@ -23,7 +22,7 @@ public final class Queen extends PromotableChessPiece {
      *
      * @param color the color of the Queen
      */
-    public Queen(PlayerColor color) {
-        super(PieceType.QUEEN, color, new DirectionalGenerator(Direction.ALL));
+    Queen(PlayerColor color) {
+        super(PieceType.QUEEN, color, SlidingGenerator.ALL);
     }
 }
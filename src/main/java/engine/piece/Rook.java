@@ -2,8 +2,7 @@ package engine.piece;
 
 import chess.PieceType;
 import chess.PlayerColor;
-import engine.generator.Direction;
-import engine.generator.DirectionalGenerator;
+import engine.generator.SlidingGenerator;
 
 /**
  * Represents the Rook chess piece.
@@ -22,7 +21,7 @@ public final class Rook extends PromotableChessPiece {
      *
      * @param color the color of the Rook
      */
-    public Rook(PlayerColor color) {
-        super(PieceType.ROOK, color, new DirectionalGenerator(Direction.STRAIGHT));
+    Rook(PlayerColor color) {
+        super(PieceType.ROOK, color, SlidingGenerator.STRAIGHT);
     }
 }
@@ -0,0 +1,148 @@
+package engine.search;
+
+import chess.PieceType;
+import chess.PlayerColor;
+import engine.board.Bitboards;
+import engine.board.ChessBoardReader;
+import engine.move.PackedMove;
+
+/**
+ * Utility class evaluating a position statically, from the point of view of the
+ * side to move, in centipawns.
+ * The score is the material balance plus piece-square bonuses rewarding central
+ * minor pieces, advanced pawns and a sheltered king, read from the bitboards of
+ * the board.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+abstract class Evaluation {
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    // Indexed by PieceType ordinal: PAWN, ROOK, KNIGHT, BISHOP, QUEEN, KING
+    private static final int[] PIECE_VALUES = {100, 500, 320, 330, 900, 0};
+
+    // Piece-square tables seen from white, rank 8 first, so a white piece on
+    // square s reads index s ^ 56 and a black piece reads index s
+    private static final int[] PAWN_TABLE = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0};
+    private static final int[] KNIGHT_TABLE = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50};
+    private static final int[] BISHOP_TABLE = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20};
+    private static final int[] KING_TABLE = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20};
+    private static final int[] NO_TABLE = new int[64];
+
+    // Indexed by PieceType ordinal
+    private static final int[][] TABLES = {PAWN_TABLE, NO_TABLE, KNIGHT_TABLE, BISHOP_TABLE, NO_TABLE, KING_TABLE};
+
+    /**
+     * Evaluates the position of the board.
+     *
+     * @param board the board
+     * @return the score of the side to move, positive if it is better
+     */
+    static int evaluate(ChessBoardReader board) {
+        int score = evaluate(board, PlayerColor.WHITE) - evaluate(board, PlayerColor.BLACK);
+        return board.getSideToMove() == PlayerColor.WHITE ? score : -score;
+    }
+
+    /**
+     * Gets the material value of a piece type.
+     *
+     * @param type the piece type
+     * @return the value in centipawns, 0 for the king
+     */
+    static int pieceValue(PieceType type) {
+        return PIECE_VALUES[type.ordinal()];
+    }
+
+    /**
+     * Gets the material won by a capture or a promotion, before any recapture.
+     *
+     * @param board the board the move is played on
+     * @param move  the packed move
+     * @return the value of the captured piece plus the value added by the
+     * promotion, 0 for a quiet move
+     */
+    static int gain(ChessBoardReader board, int move) {
+        int gain = 0;
+        if (PackedMove.flag(move) == PackedMove.EN_PASSANT) {
+            gain = PIECE_VALUES[PieceType.PAWN.ordinal()];
+        } else if (PackedMove.isCapture(move)) {
+            PlayerColor opponent = board.getSideToMove() == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+            gain = pieceValue(pieceTypeAt(board, PackedMove.to(move), opponent));
+        }
+        if (PackedMove.isPromotion(move)) {
+            gain += pieceValue(PackedMove.promotion(move)) - PIECE_VALUES[PieceType.PAWN.ordinal()];
+        }
+        return gain;
+    }
+
+    /**
+     * Gets the type of the piece on a square.
+     *
+     * @param board  the board
+     * @param square the square index, holding a piece of the given color
+     * @param color  the color of the piece
+     * @return the type of the piece
+     * @throws IllegalArgumentException if the square holds no piece of the color
+     */
+    static PieceType pieceTypeAt(ChessBoardReader board, int square, PlayerColor color) {
+        long bit = Bitboards.bit(square);
+        for (PieceType type : PIECE_TYPES) {
+            if ((board.getBitboard(type, color) & bit) != 0) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("No " + color + " piece on square " + square);
+    }
+
+    /**
+     * Sums the material and the piece-square bonuses of a player.
+     *
+     * @param board the board
+     * @param color the color of the player
+     * @return the score of the player
+     */
+    private static int evaluate(ChessBoardReader board, PlayerColor color) {
+        int flip = color == PlayerColor.WHITE ? 56 : 0;
+        int score = 0;
+        for (PieceType type : PIECE_TYPES) {
+            int[] table = TABLES[type.ordinal()];
+            for (long bits = board.getBitboard(type, color); bits != 0; bits &= bits - 1) {
+                score += PIECE_VALUES[type.ordinal()] + table[Long.numberOfTrailingZeros(bits) ^ flip];
+            }
+        }
+        return score;
+    }
+}
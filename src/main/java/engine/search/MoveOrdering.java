@@ -0,0 +1,160 @@
+package engine.search;
+
+import chess.PlayerColor;
+import engine.board.ChessBoardReader;
+import engine.move.MoveList;
+import engine.move.PackedMove;
+
+import java.util.Arrays;
+
+/**
+ * Orders the moves of a searcher so that the moves most likely to cause a
+ * cutoff are searched first, each searcher owning its own instance.
+ * The moves of a node are scored once, then selected lazily, one selection sort
+ * step per move actually searched, so that the moves after a cutoff are never
+ * sorted. The order is:
+ * <ol>
+ * <li>the move of the transposition table</li>
+ * <li>captures and promotions, by most valuable victim then least valuable
+ * attacker (MVV-LVA), the material added by a promotion counting as a
+ * victim</li>
+ * <li>the two killer moves of the ply, quiet moves which caused a cutoff in a
+ * sibling node</li>
+ * <li>the other quiet moves, by a butterfly history table counting the cutoffs
+ * of each move of each side by origin and destination square</li>
+ * </ol>
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+final class MoveOrdering {
+    private static final int SQUARES = 64;
+    private static final int TABLE_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int FIRST_KILLER_SCORE = 1 << 27;
+    private static final int SECOND_KILLER_SCORE = FIRST_KILLER_SCORE - 1;
+    // History scores stay below the killer scores, halved whenever one exceeds this
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private final int[][] scores = new int[Searcher.MAX_PLY][MoveList.CAPACITY];
+    private final int[][] killers = new int[Searcher.MAX_PLY][2];
+    private final int[] history = new int[2 * SQUARES * SQUARES];
+
+    /**
+     * Prepares a new search: the killer moves are forgotten and the history is
+     * halved, such that it favors the cutoffs of the new position.
+     */
+    void newSearch() {
+        for (int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, 0);
+        }
+        ageHistory();
+    }
+
+    /**
+     * Scores the moves of a node.
+     *
+     * @param board     the board, in the position of the node
+     * @param moves     the legal moves of the node
+     * @param ply       the distance to the root
+     * @param tableMove the move of the transposition table, or 0 if none
+     */
+    void score(ChessBoardReader board, MoveList moves, int ply, int tableMove) {
+        int[] plyScores = scores[ply];
+        int[] plyKillers = killers[ply];
+        PlayerColor color = board.getSideToMove();
+        int historyOffset = color.ordinal() * SQUARES * SQUARES;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int score;
+            if (move == tableMove) {
+                score = TABLE_MOVE_SCORE;
+            } else if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+                score = CAPTURE_SCORE + mvvLva(board, move, color);
+            } else if (move == plyKillers[0]) {
+                score = FIRST_KILLER_SCORE;
+            } else if (move == plyKillers[1]) {
+                score = SECOND_KILLER_SCORE;
+            } else {
+                score = history[historyOffset + (move & (SQUARES * SQUARES - 1))];
+            }
+            plyScores[i] = score;
+        }
+    }
+
+    /**
+     * Selects the best scored move among the moves not searched yet, and moves
+     * it to the given index.
+     *
+     * @param moves the moves of the node, scored by
+     *              {@link #score(ChessBoardReader, MoveList, int, int)}
+     * @param ply   the distance to the root
+     * @param index the number of moves already searched
+     * @return the move to search next
+     */
+    int next(MoveList moves, int ply, int index) {
+        int[] plyScores = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (plyScores[i] > plyScores[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            moves.swap(index, best);
+            int score = plyScores[index];
+            plyScores[index] = plyScores[best];
+            plyScores[best] = score;
+        }
+        return moves.get(index);
+    }
+
+    /**
+     * Records a move causing a cutoff. Quiet moves become the first killer move
+     * of the ply and gain history, more so at a greater depth.
+     *
+     * @param color the color of the side which played the move
+     * @param move  the move
+     * @param ply   the distance to the root
+     * @param depth the remaining depth of the node
+     */
+    void onCutoff(PlayerColor color, int move, int ply, int depth) {
+        if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+            return;
+        }
+        int[] plyKillers = killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        int index = color.ordinal() * SQUARES * SQUARES + (move & (SQUARES * SQUARES - 1));
+        history[index] += depth * depth;
+        if (history[index] > HISTORY_LIMIT) {
+            ageHistory();
+        }
+    }
+
+    /**
+     * Halves every history score.
+     */
+    private void ageHistory() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Scores a capture or a promotion by most valuable victim, then least
+     * valuable attacker.
+     *
+     * @param board the board
+     * @param move  the capture or promotion
+     * @param color the color of the side to move
+     * @return the score, higher for better moves
+     */
+    private static int mvvLva(ChessBoardReader board, int move, PlayerColor color) {
+        // A difference of 10 between victims outweighs any attacker
+        return 10 * Evaluation.gain(board, move)
+                - Evaluation.pieceValue(Evaluation.pieceTypeAt(board, PackedMove.from(move), color)) / 10;
+    }
+}
@@ -0,0 +1,229 @@
+package engine.search;
+
+import engine.board.ChessBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A Lazy SMP search: the main searcher runs on the caller's thread while helper
+ * searchers run the same iterative deepening on pooled threads, all sharing one
+ * lock-free {@link TranspositionTable}.
+ * Every searcher has its own copy of the board, move lists and principal
+ * variation, so the threads only communicate through the table: the helpers
+ * fill it with entries that let the main searcher cut nodes earlier. Half of the
+ * helpers start one ply deeper to spread the threads over two depths.
+ * The main searcher applies the limits and stops the helpers when it is done.
+ * The reported result is the deepest completed iteration of any searcher, with
+ * the nodes of all of them.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class ParallelSearch implements AutoCloseable {
+    private final TranspositionTable table;
+    private final Searcher main;
+    private final Searcher[] helpers;
+    private final ExecutorService executor;
+    // Counts the calls to stop(), such that a stop arriving before a search starts is not lost
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Constructs a search using the given number of threads, the caller's
+     * thread included.
+     *
+     * @param threads the number of threads
+     * @param hashMb  the size of the shared transposition table, in megabytes
+     * @throws IllegalArgumentException if the number of threads is not positive
+     *                                  or the table size is invalid
+     */
+    public ParallelSearch(int threads, int hashMb) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid number of threads: " + threads);
+        }
+        this.table = new TranspositionTable(hashMb);
+        this.main = new Searcher(table);
+        this.helpers = new Searcher[threads - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new Searcher(table, true);
+        }
+        this.executor = helpers.length == 0 ? null : Executors.newFixedThreadPool(helpers.length, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches the best move of the side to move.
+     *
+     * @param position the position to search, left untouched
+     * @param limits   the limits of the search
+     * @return the deepest completed iteration
+     * @throws IllegalStateException if the side to move has no legal move
+     */
+    public SearchResult search(ChessBoard position, SearchLimits limits) {
+        return search(position, limits, generation.get(), result -> {
+        });
+    }
+
+    /**
+     * Searches the best move of the side to move, unless {@link #stop()} was
+     * called since the given generation was read, in which case only the first
+     * iteration is searched.
+     *
+     * @param position   the position to search, left untouched
+     * @param limits     the limits of the search
+     * @param generation the value of {@link #getGeneration()} when the search was
+     *                   requested
+     * @return the deepest completed iteration
+     * @throws IllegalStateException if the side to move has no legal move
+     */
+    public SearchResult search(ChessBoard position, SearchLimits limits, int generation) {
+        return search(position, limits, generation, result -> {
+        });
+    }
+
+    /**
+     * Searches the best move of the side to move, reporting every iteration
+     * completed by the main searcher.
+     *
+     * @param position    the position to search, left untouched
+     * @param limits      the limits of the search, the node limit counting the
+     *                    nodes of the main searcher only
+     * @param onIteration called with the result of each iteration of the main
+     *                    searcher
+     * @return the deepest completed iteration of any searcher
+     * @throws IllegalStateException if the side to move has no legal move
+     */
+    public SearchResult search(ChessBoard position, SearchLimits limits, Consumer<SearchResult> onIteration) {
+        return search(position, limits, generation.get(), onIteration);
+    }
+
+    /**
+     * Searches the best move of the side to move, unless stopped since the given
+     * generation.
+     *
+     * @param position    the position to search, left untouched
+     * @param limits      the limits of the search
+     * @param generation  the generation the search was requested in
+     * @param onIteration called with the result of each iteration of the main
+     *                    searcher
+     * @return the deepest completed iteration of any searcher
+     * @throws IllegalStateException if the side to move has no legal move
+     */
+    private SearchResult search(ChessBoard position, SearchLimits limits, int generation,
+            Consumer<SearchResult> onIteration) {
+        if (!position.getLegalMoveGenerator(position.getSideToMove()).hasLegalMove()) {
+            throw new IllegalStateException("The side to move has no legal move");
+        }
+        long startTime = System.nanoTime();
+        table.newSearch();
+        SearchLimits helperLimits = SearchLimits.ofDepth(limits.depth());
+        List<Future<SearchResult>> futures = new ArrayList<>(helpers.length);
+        for (int i = 0; i < helpers.length; i++) {
+            Searcher helper = helpers[i];
+            int startDepth = Math.min(1 + (i & 1), limits.depth());
+            helper.resume();
+            futures.add(executor.submit(() -> helper.iterate(position, helperLimits, startDepth, result -> {
+            })));
+        }
+
+        SearchResult best;
+        try {
+            main.resume();
+            // A stop between the request and the resume was cleared by it
+            if (generation != this.generation.get()) {
+                main.stop();
+            }
+            best = main.iterate(position, limits, 1, onIteration);
+        } finally {
+            for (Searcher helper : helpers) {
+                helper.stop();
+            }
+        }
+        long nodes = main.getNodes();
+        for (int i = 0; i < helpers.length; i++) {
+            SearchResult result = await(futures.get(i));
+            nodes += helpers[i].getNodes();
+            if (result != null && result.depth() > best.depth()) {
+                best = result;
+            }
+        }
+        return new SearchResult(best.move(), best.score(), best.depth(), nodes, System.nanoTime() - startTime,
+                best.principalVariation());
+    }
+
+    /**
+     * Stops the running search, from another thread. The search returns the
+     * deepest iteration completed so far. A search requested with an earlier
+     * {@link #getGeneration()} but not started yet is stopped as well.
+     */
+    public void stop() {
+        generation.incrementAndGet();
+        main.stop();
+    }
+
+    /**
+     * Gets the number of calls to {@link #stop()}, read when requesting a search
+     * that may be stopped before it starts.
+     *
+     * @return the current generation
+     */
+    public int getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Replaces the shared transposition table with an empty table of the given
+     * size. Must not be called while a search runs.
+     *
+     * @param sizeMb the size in megabytes
+     * @throws IllegalArgumentException if the size is invalid
+     */
+    public void setHashSize(int sizeMb) {
+        table.resize(sizeMb);
+    }
+
+    /**
+     * Clears the shared transposition table, e.g. before a new game.
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * Stops the helper threads. The search can no longer be used.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for a helper to return its result.
+     *
+     * @param future the pending result of the helper
+     * @return the result, or null if the helper completed no iteration
+     * @throws IllegalStateException if the helper failed or the thread was
+     *                               interrupted
+     */
+    private static SearchResult await(Future<SearchResult> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A search helper failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the search helpers", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package engine.search;
+
+/**
+ * The limits of a search: it stops at the first one reached, but always
+ * completes its first iteration.
+ *
+ * @param depth  the maximum depth, in plies
+ * @param nodes  the maximum number of nodes, or {@link #UNLIMITED}
+ * @param millis the maximum duration in milliseconds, or {@link #UNLIMITED}
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public record SearchLimits(int depth, long nodes, long millis) {
+    public static final int MAX_DEPTH = Searcher.MAX_PLY / 2;
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * Validates the limits.
+     *
+     * @throws IllegalArgumentException if a limit is out of range
+     */
+    public SearchLimits {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Invalid search depth: " + depth);
+        }
+        if (nodes < 1) {
+            throw new IllegalArgumentException("Invalid node limit: " + nodes);
+        }
+        if (millis < 1) {
+            throw new IllegalArgumentException("Invalid time limit: " + millis);
+        }
+    }
+
+    /**
+     * Creates limits searching up to the given depth.
+     *
+     * @param depth the maximum depth, in plies
+     * @return the limits
+     */
+    public static SearchLimits ofDepth(int depth) {
+        return new SearchLimits(depth, UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * Creates limits searching up to the given number of nodes.
+     *
+     * @param nodes the maximum number of nodes
+     * @return the limits
+     */
+    public static SearchLimits ofNodes(long nodes) {
+        return new SearchLimits(MAX_DEPTH, nodes, UNLIMITED);
+    }
+
+    /**
+     * Creates limits searching for the given duration.
+     *
+     * @param millis the maximum duration in milliseconds
+     * @return the limits
+     */
+    public static SearchLimits ofTime(long millis) {
+        return new SearchLimits(MAX_DEPTH, UNLIMITED, millis);
+    }
+}
@@ -0,0 +1,98 @@
+package engine.search;
+
+import engine.move.PackedMove;
+
+import java.util.Arrays;
+
+/**
+ * The result of the last completed iteration of a search.
+ *
+ * @param move               the best move, as a packed move
+ * @param score              the score of the best move for the side to move, in
+ *                           centipawns, see {@link #isMate()}
+ * @param depth              the depth of the iteration, in plies
+ * @param nodes              the number of nodes searched since the search started
+ * @param nanos              the time spent since the search started
+ * @param principalVariation the expected line of play, starting with the best
+ *                           move, as packed moves
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public record SearchResult(int move, int score, int depth, long nodes, long nanos, int[] principalVariation) {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Checks if the score is a forced checkmate, for either side.
+     *
+     * @return true if a checkmate was found
+     */
+    public boolean isMate() {
+        return Math.abs(score) >= Searcher.MATE - Searcher.MAX_PLY;
+    }
+
+    /**
+     * Gets the number of moves until checkmate, positive if the side to move
+     * mates.
+     *
+     * @return the number of moves until checkmate
+     * @throws IllegalStateException if the score is not a checkmate
+     */
+    public int mateIn() {
+        if (!isMate()) {
+            throw new IllegalStateException("The score is not a checkmate: " + score);
+        }
+        int plies = Searcher.MATE - Math.abs(score);
+        return score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2;
+    }
+
+    /**
+     * Gets the search throughput.
+     *
+     * @return the number of nodes searched per second
+     */
+    public long nodesPerSecond() {
+        return nodes * NANOS_PER_SECOND / Math.max(nanos, 1);
+    }
+
+    /**
+     * Formats the result on one line, the moves in coordinates, e.g.
+     * "depth 6 score cp 35 nodes 81234 nps 1523000 pv e2e4 e7e5".
+     *
+     * @return the result
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("depth ").append(depth)
+                .append(isMate() ? " score mate " + mateIn() : " score cp " + score)
+                .append(" nodes ").append(nodes)
+                .append(" nps ").append(nodesPerSecond())
+                .append(" pv");
+        for (int pvMove : principalVariation) {
+            text.append(' ').append(PackedMove.toString(pvMove));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Compares the results by value, including the principal variation.
+     *
+     * @param o the other object
+     * @return true if the results are equal
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SearchResult other && move == other.move && score == other.score
+                && depth == other.depth && nodes == other.nodes && nanos == other.nanos
+                && Arrays.equals(principalVariation, other.principalVariation);
+    }
+
+    /**
+     * Hashes the result by value, including the principal variation.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(nodes ^ nanos) + 17 * Arrays.hashCode(principalVariation) + move + score + depth;
+    }
+}
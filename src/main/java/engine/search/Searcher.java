@@ -0,0 +1,453 @@
+package engine.search;
+
+import engine.board.ChessBoard;
+import engine.board.LegalMoveGenerator;
+import engine.move.ChessMove;
+import engine.move.MoveList;
+import engine.move.PackedMove;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Chooses a move for the side to move with a negamax alpha-beta search, deepened
+ * iteratively one ply at a time until a limit is reached.
+ * The search runs on its own copy of the board, generating packed moves with a
+ * single {@link LegalMoveGenerator} into one reusable {@link MoveList} per ply,
+ * and playing them by executing and undoing the corresponding
+ * {@link ChessMove}, in the order chosen by its own {@link MoveOrdering}. The
+ * principal variation is collected in a triangular table, and the best move of
+ * an iteration is searched first by the next one.
+ * The leaves are extended by a quiescence search playing only captures and
+ * promotions, or every move out of check, until the position is quiet.
+ * Searched nodes are stored in a {@link TranspositionTable}, which can be
+ * shared by the searchers of a {@link ParallelSearch}.
+ * An iteration interrupted by a limit is discarded, except the first one.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class Searcher {
+    public static final int MAX_PLY = 128;
+    public static final int MATE = 100_000;
+    private static final int INFINITY = MATE + 1;
+    private static final int FIFTY_MOVE_RULE_PLIES = 100;
+    private static final int NO_MOVE = 0;
+    // A capture must be able to bring the score this close to alpha to be searched
+    private static final int DELTA_MARGIN = 200;
+    // The limits are checked once every CHECK_INTERVAL nodes
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final TranspositionTable table;
+    private final boolean helper;
+    private final MoveOrdering ordering = new MoveOrdering();
+    private final MoveList[] moveLists = new MoveList[MAX_PLY];
+    private final int[][] pvTable = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+    private ChessBoard board;
+    private LegalMoveGenerator generator;
+    private SearchLimits limits;
+    private long startTime;
+    private long nodes;
+    private int rootMove;
+    private boolean interruptible;
+    private volatile boolean stopped;
+
+    /**
+     * Constructs a searcher with its own transposition table of the default size.
+     */
+    public Searcher() {
+        this(new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+    }
+
+    /**
+     * Constructs a searcher storing the searched nodes in the given table.
+     *
+     * @param table the transposition table
+     */
+    public Searcher(TranspositionTable table) {
+        this(table, false);
+    }
+
+    /**
+     * Constructs a searcher storing the searched nodes in the given table.
+     *
+     * @param table  the transposition table
+     * @param helper true for a helper thread of a parallel search, whose
+     *               iterations can all be interrupted
+     */
+    Searcher(TranspositionTable table, boolean helper) {
+        this.table = table;
+        this.helper = helper;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            moveLists[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * Searches the best move of the side to move.
+     *
+     * @param position the position to search, left untouched
+     * @param limits   the limits of the search
+     * @return the result of the deepest completed iteration
+     * @throws IllegalStateException if the side to move has no legal move
+     */
+    public SearchResult search(ChessBoard position, SearchLimits limits) {
+        return search(position, limits, result -> {
+        });
+    }
+
+    /**
+     * Searches the best move of the side to move, reporting every completed
+     * iteration.
+     *
+     * @param position    the position to search, left untouched
+     * @param limits      the limits of the search
+     * @param onIteration called with the result of each completed iteration
+     * @return the result of the deepest completed iteration
+     * @throws IllegalStateException if the side to move has no legal move
+     */
+    public SearchResult search(ChessBoard position, SearchLimits limits, Consumer<SearchResult> onIteration) {
+        stopped = false;
+        table.newSearch();
+        return iterate(position, limits, 1, onIteration);
+    }
+
+    /**
+     * Stops the running search, from another thread. The search returns the
+     * result of its deepest completed iteration.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Allows the next search to run, such that a helper stopped before it
+     * started does not miss the stop.
+     */
+    void resume() {
+        stopped = false;
+    }
+
+    /**
+     * Gets the number of nodes searched by the last search.
+     *
+     * @return the number of nodes
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Runs the iterative deepening loop, unless the search is already stopped.
+     *
+     * @param position    the position to search, left untouched
+     * @param limits      the limits of the search
+     * @param startDepth  the depth of the first iteration
+     * @param onIteration called with the result of each completed iteration
+     * @return the result of the deepest completed iteration, or null for a
+     * helper stopped before completing one
+     * @throws IllegalStateException if the side to move has no legal move
+     */
+    SearchResult iterate(ChessBoard position, SearchLimits limits, int startDepth,
+                         Consumer<SearchResult> onIteration) {
+        board = position.clone();
+        generator = board.getLegalMoveGenerator(board.getSideToMove());
+        if (!generator.hasLegalMove()) {
+            throw new IllegalStateException("The side to move has no legal move");
+        }
+        this.limits = limits;
+        startTime = System.nanoTime();
+        nodes = 0;
+        rootMove = NO_MOVE;
+        ordering.newSearch();
+
+        SearchResult result = null;
+        for (int depth = startDepth; depth <= limits.depth(); depth++) {
+            interruptible = helper || result != null;
+            int score = negamax(depth, 0, -INFINITY, INFINITY);
+            if (stopped && interruptible) {
+                break;
+            }
+            rootMove = pvTable[0][0];
+            result = new SearchResult(rootMove, score, depth, nodes, System.nanoTime() - startTime,
+                    principalVariation(depth));
+            onIteration.accept(result);
+            if (stopped || result.isMate()) {
+                break;
+            }
+        }
+        board = null;
+        generator = null;
+        return result;
+    }
+
+    /**
+     * Searches a node.
+     *
+     * @param depth the remaining depth, in plies
+     * @param ply   the distance to the root
+     * @param alpha the score the side to move is already guaranteed
+     * @param beta  the score the opponent is already guaranteed, negated
+     * @return the score of the node for the side to move
+     */
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        if (depth == 0) {
+            return quiesce(ply, alpha, beta);
+        }
+        pvLength[ply] = 0;
+        if (++nodes % CHECK_INTERVAL == 0 && !helper) {
+            checkLimits();
+        }
+        if (stopped && interruptible) {
+            return 0;
+        }
+        if (ply > 0 && isDraw()) {
+            return 0;
+        }
+
+        long key = board.getZobristKey();
+        long entry = table.probe(key);
+        int tableMove = ply == 0 && rootMove != NO_MOVE ? rootMove : TranspositionTable.move(entry);
+        if (ply > 0 && entry != 0 && TranspositionTable.depth(entry) >= depth) {
+            int score = fromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                    || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                return score;
+            }
+        }
+        if (ply == MAX_PLY - 1) {
+            return Evaluation.evaluate(board);
+        }
+
+        MoveList moves = moveLists[ply];
+        generator.reset(board.getSideToMove());
+        generator.generate(moves);
+        if (moves.isEmpty()) {
+            return generator.isInCheck() ? -MATE + ply : 0;
+        }
+        ordering.score(board, moves, ply, tableMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = NO_MOVE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = ordering.next(moves, ply, i);
+            ChessMove chessMove = PackedMove.toChessMove(board, move);
+            chessMove.execute(board);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            chessMove.undo(board);
+            if (stopped && interruptible) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                    if (alpha >= beta) {
+                        ordering.onCutoff(board.getSideToMove(), move, ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best >= beta ? TranspositionTable.LOWER_BOUND
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        table.store(key, bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Makes the given move followed by the principal variation of the next ply
+     * the principal variation of a ply.
+     *
+     * @param ply  the distance to the root
+     * @param move the best move found at the ply
+     */
+    private void updatePrincipalVariation(int ply, int move) {
+        int[] line = pvTable[ply];
+        line[0] = move;
+        int length = pvLength[ply + 1];
+        System.arraycopy(pvTable[ply + 1], 0, line, 1, length);
+        pvLength[ply] = length + 1;
+    }
+
+    /**
+     * Searches the captures and promotions of a leaf until the position is quiet,
+     * such that no leaf is evaluated in the middle of an exchange.
+     * The side to move may stand pat with the static evaluation instead of
+     * capturing, unless it is in check, in which case every move out of check is
+     * searched. Captures which cannot bring the score near alpha even when the
+     * captured piece is won for free are pruned (delta pruning).
+     *
+     * @param ply   the distance to the root
+     * @param alpha the score the side to move is already guaranteed
+     * @param beta  the score the opponent is already guaranteed, negated
+     * @return the score of the node for the side to move
+     */
+    private int quiesce(int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        if (++nodes % CHECK_INTERVAL == 0 && !helper) {
+            checkLimits();
+        }
+        if (stopped && interruptible) {
+            return 0;
+        }
+        if (isDraw()) {
+            return 0;
+        }
+        if (ply == MAX_PLY - 1) {
+            return Evaluation.evaluate(board);
+        }
+
+        MoveList moves = moveLists[ply];
+        generator.reset(board.getSideToMove());
+        boolean inCheck = generator.isInCheck();
+        int standPat = -INFINITY;
+        if (inCheck) {
+            generator.generate(moves);
+            if (moves.isEmpty()) {
+                return -MATE + ply;
+            }
+        } else {
+            standPat = Evaluation.evaluate(board);
+            if (standPat >= beta) {
+                return standPat;
+            }
+            alpha = Math.max(alpha, standPat);
+            generator.generateCaptures(moves);
+        }
+        ordering.score(board, moves, ply, NO_MOVE);
+
+        int best = standPat;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = ordering.next(moves, ply, i);
+            if (!inCheck && standPat + Evaluation.gain(board, move) + DELTA_MARGIN <= alpha) {
+                continue;
+            }
+            ChessMove chessMove = PackedMove.toChessMove(board, move);
+            chessMove.execute(board);
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            chessMove.undo(board);
+            if (stopped && interruptible) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks if the position is drawn by repetition or by the fifty-move rule.
+     * A single repetition is enough, as the side repeating could repeat again.
+     *
+     * @return true if the position is a draw
+     */
+    private boolean isDraw() {
+        return board.getRepetitionCount() > 0 || board.getGameState().halfmoveClock() >= FIFTY_MOVE_RULE_PLIES;
+    }
+
+    /**
+     * Gets the principal variation of the root, completed with the moves of the
+     * transposition table where a table hit cut it short.
+     *
+     * @param depth the depth of the iteration
+     * @return the principal variation, as packed moves
+     */
+    private int[] principalVariation(int depth) {
+        int length = pvLength[0];
+        // The quiescence search can make the line longer than the depth
+        int[] line = Arrays.copyOf(pvTable[0], Math.max(depth, length));
+        ChessMove[] played = new ChessMove[line.length];
+        for (int i = 0; i < length; i++) {
+            played[i] = PackedMove.toChessMove(board, line[i]);
+            played[i].execute(board);
+        }
+        while (length < depth && board.getRepetitionCount() == 0) {
+            int move = TranspositionTable.move(table.probe(board.getZobristKey()));
+            MoveList moves = moveLists[length];
+            generator.reset(board.getSideToMove());
+            generator.generate(moves);
+            if (move == NO_MOVE || !contains(moves, move)) {
+                break;
+            }
+            line[length] = move;
+            played[length] = PackedMove.toChessMove(board, move);
+            played[length++].execute(board);
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            played[i].undo(board);
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    /**
+     * Checks if a list contains a move.
+     *
+     * @param moves the moves
+     * @param move  the move to look for
+     * @return true if the list contains the move
+     */
+    private static boolean contains(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts a mate score from the root to the node before it is stored, such
+     * that the entry is valid wherever the position is reached.
+     *
+     * @param score the score relative to the root
+     * @param ply   the distance to the root
+     * @return the score relative to the node
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        return score <= -MATE + MAX_PLY ? score - ply : score;
+    }
+
+    /**
+     * Converts a stored mate score from the node back to the root.
+     *
+     * @param score the score relative to the node
+     * @param ply   the distance to the root
+     * @return the score relative to the root
+     */
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        return score <= -MATE + MAX_PLY ? score + ply : score;
+    }
+
+    /**
+     * Stops the search if the node or time limit is reached.
+     */
+    private void checkLimits() {
+        if (nodes >= limits.nodes()
+                || (limits.millis() != SearchLimits.UNLIMITED
+                && (System.nanoTime() - startTime) / 1_000_000 >= limits.millis())) {
+            stopped = true;
+        }
+    }
+}
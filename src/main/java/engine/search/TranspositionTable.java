@@ -0,0 +1,238 @@
+package engine.search;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A transposition table shared by the search threads, storing the outcome of
+ * searched nodes by Zobrist key off the Java heap and without any lock.
+ * The table is made of direct {@link ByteBuffer}s of at most 1 GB, so that
+ * large tables are neither scanned nor moved by the garbage collector. They are
+ * divided into buckets of {@link #BUCKET_ENTRIES} entries filling a 64-byte
+ * cache line, the bucket of a position being selected by the low bits of its
+ * key.
+ * Each entry takes two {@code long}s: the key XOR the packed data, and the data.
+ * A concurrent write can interleave the two halves of an entry, but such a torn
+ * entry no longer matches its key and is read as a miss, so readers never see
+ * the data of another position.
+ * The data packs the best move in bits 0-17, the bound in bits 18-19, the depth
+ * in bits 20-27, the age in bits 28-31 and the score in bits 32-63.
+ * When a bucket is full, the entry with the lowest depth, aged by the number of
+ * searches since it was written, is replaced.
+ *
+ * @author Leonard Cseres
+ * @author Aladin Iseni
+ */
+public final class TranspositionTable {
+    public static final int DEFAULT_SIZE_MB = 16;
+    public static final int MAX_SIZE_MB = 1 << 16;
+
+    static final int NONE = 0;
+    static final int EXACT = 1;
+    static final int LOWER_BOUND = 2;
+    static final int UPPER_BOUND = 3;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int BUCKET_BYTES = BUCKET_ENTRIES * ENTRY_BYTES;
+    private static final int BUCKET_SHIFT = Integer.numberOfTrailingZeros(BUCKET_BYTES);
+    // A buffer holds at most 1 GB, i.e. 2^24 buckets
+    private static final int CHUNK_BUCKET_BITS = 30 - BUCKET_SHIFT;
+    private static final long CHUNK_BUCKET_MASK = (1L << CHUNK_BUCKET_BITS) - 1;
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private static final int MOVE_MASK = (1 << 18) - 1;
+    private static final int BOUND_SHIFT = 18;
+    private static final int BOUND_MASK = 0b11;
+    private static final int DEPTH_SHIFT = 20;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int AGE_SHIFT = 28;
+    private static final int AGE_MASK = 0xF;
+    private static final int SCORE_SHIFT = 32;
+    // Each search since an entry was written counts as this many plies of depth
+    private static final int AGE_WEIGHT = 4;
+
+    private ByteBuffer[] chunks;
+    private long bucketMask;
+    private int age;
+
+    /**
+     * Constructs a table of at most the given size, rounded down to a power of
+     * two number of buckets.
+     *
+     * @param sizeMb the size in megabytes
+     * @throws IllegalArgumentException if the size is not between 1 MB and
+     *                                  {@link #MAX_SIZE_MB}
+     */
+    public TranspositionTable(int sizeMb) {
+        resize(sizeMb);
+    }
+
+    /**
+     * Replaces the table with an empty table of at most the given size, rounded
+     * down to a power of two number of buckets. Must not be called while a
+     * search runs. The memory of the previous table is released once it is
+     * garbage collected.
+     *
+     * @param sizeMb the size in megabytes
+     * @throws IllegalArgumentException if the size is not between 1 MB and
+     *                                  {@link #MAX_SIZE_MB}
+     */
+    public void resize(int sizeMb) {
+        if (sizeMb < 1 || sizeMb > MAX_SIZE_MB) {
+            throw new IllegalArgumentException("Invalid transposition table size: " + sizeMb + " MB");
+        }
+        long buckets = Long.highestOneBit(sizeMb * BYTES_PER_MB / BUCKET_BYTES);
+        long chunkBuckets = Math.min(buckets, 1L << CHUNK_BUCKET_BITS);
+        // Release the previous table before allocating the new one
+        chunks = null;
+        ByteBuffer[] newChunks = new ByteBuffer[(int) (buckets / chunkBuckets)];
+        for (int i = 0; i < newChunks.length; i++) {
+            newChunks[i] = ByteBuffer.allocateDirect((int) (chunkBuckets * BUCKET_BYTES)).order(ByteOrder.nativeOrder());
+        }
+        chunks = newChunks;
+        bucketMask = buckets - 1;
+        age = 0;
+    }
+
+    /**
+     * Gets the size of the table.
+     *
+     * @return the size in megabytes, rounded to a power of two
+     */
+    public int getSizeMb() {
+        return (int) ((bucketMask + 1) * BUCKET_BYTES / BYTES_PER_MB);
+    }
+
+    /**
+     * Removes all the entries. Must not be called while a search runs.
+     */
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int offset = 0; offset < chunk.capacity(); offset += Long.BYTES) {
+                chunk.putLong(offset, 0);
+            }
+        }
+        age = 0;
+    }
+
+    /**
+     * Starts a new search, such that the entries of the previous searches are
+     * replaced first. Must not be called while a search runs.
+     */
+    void newSearch() {
+        age = (age + 1) & AGE_MASK;
+    }
+
+    /**
+     * Looks up the entry of a position.
+     *
+     * @param key the Zobrist key of the position
+     * @return the packed data of the entry, or 0 if the position is not stored
+     */
+    long probe(long key) {
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunks[(int) (bucket >>> CHUNK_BUCKET_BITS)];
+        int offset = (int) (bucket & CHUNK_BUCKET_MASK) << BUCKET_SHIFT;
+        for (int i = 0; i < BUCKET_ENTRIES; i++, offset += ENTRY_BYTES) {
+            long data = chunk.getLong(offset + Long.BYTES);
+            if ((chunk.getLong(offset) ^ data) == key && data != 0) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the outcome of a searched node. The entry of the same position is
+     * replaced, keeping its move if the node has none, otherwise the empty or
+     * least valuable entry of the bucket.
+     *
+     * @param key   the Zobrist key of the position
+     * @param move  the best packed move, or 0 if none
+     * @param score the score, mate scores relative to the node
+     * @param depth the searched depth
+     * @param bound the kind of score, {@link #EXACT}, {@link #LOWER_BOUND} or
+     *              {@link #UPPER_BOUND}
+     */
+    void store(long key, int move, int score, int depth, int bound) {
+        long bucket = key & bucketMask;
+        ByteBuffer chunk = chunks[(int) (bucket >>> CHUNK_BUCKET_BITS)];
+        int offset = (int) (bucket & CHUNK_BUCKET_MASK) << BUCKET_SHIFT;
+        int replaced = offset;
+        int lowestValue = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_ENTRIES; i++, offset += ENTRY_BYTES) {
+            long data = chunk.getLong(offset + Long.BYTES);
+            if (data == 0) {
+                replaced = offset;
+                break;
+            }
+            if ((chunk.getLong(offset) ^ data) == key) {
+                if (move == 0) {
+                    move = move(data);
+                }
+                replaced = offset;
+                break;
+            }
+            int value = depth(data) - AGE_WEIGHT * ((age - age(data)) & AGE_MASK);
+            if (value < lowestValue) {
+                lowestValue = value;
+                replaced = offset;
+            }
+        }
+        long data = (long) score << SCORE_SHIFT | (long) age << AGE_SHIFT | (long) depth << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT | move;
+        chunk.putLong(replaced, key ^ data);
+        chunk.putLong(replaced + Long.BYTES, data);
+    }
+
+    /**
+     * Gets the best move of an entry.
+     *
+     * @param data the packed data of the entry
+     * @return the packed move, or 0 if none
+     */
+    static int move(long data) {
+        return (int) data & MOVE_MASK;
+    }
+
+    /**
+     * Gets the bound of an entry.
+     *
+     * @param data the packed data of the entry
+     * @return the bound, {@link #NONE} if the entry is empty
+     */
+    static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & BOUND_MASK;
+    }
+
+    /**
+     * Gets the searched depth of an entry.
+     *
+     * @param data the packed data of the entry
+     * @return the depth
+     */
+    static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    /**
+     * Gets the score of an entry.
+     *
+     * @param data the packed data of the entry
+     * @return the score, mate scores relative to the node
+     */
+    static int score(long data) {
+        return (int) (data >> SCORE_SHIFT);
+    }
+
+    /**
+     * Gets the age of the search that wrote an entry.
+     *
+     * @param data the packed data of the entry
+     * @return the age, counted modulo 16
+     */
+    private static int age(long data) {
+        return (int) (data >>> AGE_SHIFT) & AGE_MASK;
+    }
+}